@@ -1,9 +1,13 @@
 package com.petconnect.config;
 
 import com.petconnect.security.AuthEntryPointJwt;
+import com.petconnect.security.AuthRateLimitFilter;
+import com.petconnect.security.BCryptCostCalibrator;
 import com.petconnect.security.JwtAuthenticationFilter;
 import com.petconnect.security.UserDetailsServiceImpl;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,6 +38,11 @@ public class SecurityConfig {
         return new JwtAuthenticationFilter();
     }
 
+    @Bean
+    AuthRateLimitFilter authRateLimitFilter() {
+        return new AuthRateLimitFilter();
+    }
+
     @Bean
     DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
@@ -49,9 +58,22 @@ public class SecurityConfig {
         return authConfig.getAuthenticationManager();
     }
 
+    @Value("${petconnect.app.hashing.calibrate:true}")
+    private boolean calibrateCost;
+
+    @Value("${petconnect.app.hashing.minCost:10}")
+    private int minCost;
+
+    @Value("${petconnect.app.hashing.maxCost:14}")
+    private int maxCost;
+
+    @Value("${petconnect.app.hashing.targetMs:250}")
+    private long targetHashMs;
+
     @Bean
     PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        int cost = calibrateCost ? BCryptCostCalibrator.calibrate(minCost, maxCost, targetHashMs) : minCost;
+        return new BCryptPasswordEncoder(cost);
     }
 
     @Bean
@@ -69,12 +91,16 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // SSE responses complete on an async dispatch of an already authorized request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/api/auth/**" ,"/api/test/**", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html")
                         .permitAll()
                         .requestMatchers("/api/admin-users/**").hasRole("ADMIN")
+                        .requestMatchers("/actuator/metrics", "/actuator/metrics/**").hasRole("ADMIN")
                         .anyRequest().authenticated());
 
         http.authenticationProvider(authenticationProvider());
+        http.addFilterBefore(authRateLimitFilter(), UsernamePasswordAuthenticationFilter.class);
         http.addFilterBefore(authenticationJwtTokenFilter(), UsernamePasswordAuthenticationFilter.class);
 
         return http.build();
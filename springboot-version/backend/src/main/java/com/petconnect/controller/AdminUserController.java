@@ -42,6 +42,12 @@ public class AdminUserController {
         return ResponseEntity.ok(userService.getUserById(id));
     }
 
+    @PostMapping("/u/{id}/revoke-tokens")
+    public ResponseEntity<?> revokeTokens(@PathVariable @Positive(message = "User ID must be a positive number") Long id) {
+        userService.revokeTokens(id);
+        return ResponseEntity.ok(Map.of("message", "User tokens revoked successfully"));
+    }
+
     @DeleteMapping("/u/{id}")
     public ResponseEntity<?> deleteUser(@PathVariable @Positive(message = "User ID must be a positive number") Long id) {
         userService.deleteUser(id);
@@ -4,11 +4,14 @@ import com.petconnect.dto.ContactRequest;
 import com.petconnect.dto.ContactResponse;
 import com.petconnect.dto.MissingPetRequest;
 import com.petconnect.dto.MissingPetResponse;
+import com.petconnect.dto.ReportMatchDto;
+import com.petconnect.entity.MissingPetReport.ReportStatus;
 import com.petconnect.security.UserDetailsImpl;
 import com.petconnect.service.MissingPetService;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -53,8 +56,18 @@ public class MissingPetController {
     @GetMapping("/nearby/{userId}")
     public ResponseEntity<List<MissingPetResponse>> getNearbyReports(
             @PathVariable @Positive(message = "User Id must be a positive number") Long userId,
-            @RequestParam(defaultValue = "10.0") @Positive(message = "Radius must be positive") Double radius) {
-        return ResponseEntity.ok(missingPetService.getNearbyReports(userId, radius));
+            @RequestParam(defaultValue = "10.0") @Positive(message = "Radius must be positive") Double radius,
+            @RequestParam(required = false) List<ReportStatus> status,
+            @RequestParam(defaultValue = "0") @PositiveOrZero(message = "Page must not be negative") Integer page,
+            @RequestParam(required = false) @Positive(message = "Size must be positive") Integer size) {
+        return ResponseEntity.ok(missingPetService.getNearbyReports(userId, radius, status, page, size));
+    }
+
+    @GetMapping("/{reportId}/matches")
+    public ResponseEntity<List<ReportMatchDto>> getMatches(
+            @PathVariable @Positive(message = "Report Id must be positive") Long reportId,
+            @RequestParam(required = false) @Positive(message = "Limit must be positive") Integer limit) {
+        return ResponseEntity.ok(missingPetService.getMatches(reportId, limit));
     }
 
     @PostMapping("/{reportId}/contact")
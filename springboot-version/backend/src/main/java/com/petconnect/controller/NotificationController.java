@@ -1,14 +1,25 @@
 package com.petconnect.controller;
 
+import com.petconnect.dto.CursorPageDto;
 import com.petconnect.dto.NotificationDto;
+import com.petconnect.security.JwtUtils;
+import com.petconnect.security.TokenVersionRegistry;
+import com.petconnect.security.UserDetailsImpl;
 import com.petconnect.service.NotificationService;
 
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Validated
 @RestController
@@ -16,12 +27,55 @@ import java.util.List;
 @RequiredArgsConstructor
 public class NotificationController {
     private final NotificationService notificationService;
+    private final JwtUtils jwtUtils;
+    private final TokenVersionRegistry tokenVersions;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<List<NotificationDto>> getNotifications(@PathVariable @Positive(message = "User Id must be a positive number") Long userId) {
+    public ResponseEntity<List<NotificationDto>> getNotifications(@PathVariable @Positive(message = "User Id must be a positive number") Long userId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        if (!isCaller(userDetails, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
         return ResponseEntity.ok(notificationService.getNotifications(userId));
     }
 
+    @GetMapping("/{userId}/page")
+    public ResponseEntity<CursorPageDto<NotificationDto>> getNotificationsPage(
+            @PathVariable @Positive(message = "User Id must be a positive number") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) @Positive(message = "Cursor Id must be a positive number") Long cursorId,
+            @RequestParam(required = false) @Positive(message = "Page size must be a positive number") Integer size,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        if (!isCaller(userDetails, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(notificationService.getNotificationsPage(userId, cursorCreatedAt, cursorId, size));
+    }
+
+    @GetMapping("/{userId}/unread-count")
+    public ResponseEntity<?> getUnreadCount(@PathVariable @Positive(message = "User Id must be a positive number") Long userId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        if (!isCaller(userDetails, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(Map.of("count", notificationService.getUnreadCount(userId)));
+    }
+
+    // EventSource cannot set headers; it opens the stream with this token in the query string
+    @PostMapping("/stream-token")
+    public ResponseEntity<?> issueStreamToken(@AuthenticationPrincipal UserDetailsImpl userDetails) {
+        String token = jwtUtils.generateStreamToken(userDetails, tokenVersions.currentVersion(userDetails.getId()));
+        return ResponseEntity.ok(Map.of("token", token));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        return notificationService.subscribe(userDetails.getId(),
+                lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
     @PostMapping("/mark-read/{id}")
     public ResponseEntity<?> markAsRead(@PathVariable @Positive(message = "Notification Id must be a positive number") Long id) {
         notificationService.markAsRead(id);
@@ -29,8 +83,21 @@ public class NotificationController {
     }
 
     @PostMapping("/mark-all-read/{userId}")
-    public ResponseEntity<?> markAllAsRead(@PathVariable @Positive(message = "User Id must be a positive number") Long userId) {
-        notificationService.markAllAsRead(userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<?> markAllAsRead(@PathVariable @Positive(message = "User Id must be a positive number") Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) @Positive(message = "Cursor Id must be a positive number") Long cursorId,
+            @AuthenticationPrincipal UserDetailsImpl userDetails) {
+        if (!isCaller(userDetails, userId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        int updated = (cursorCreatedAt == null || cursorId == null)
+                ? notificationService.markAllAsRead(userId)
+                : notificationService.markAsReadUpTo(userId, cursorCreatedAt, cursorId);
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    // An inbox is only readable and markable by its owner
+    private static boolean isCaller(UserDetailsImpl userDetails, Long userId) {
+        return userDetails != null && userId.equals(userDetails.getId());
     }
 }
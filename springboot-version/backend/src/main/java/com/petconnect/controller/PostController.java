@@ -1,7 +1,9 @@
 package com.petconnect.controller;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.validation.annotation.Validated;
@@ -42,8 +44,11 @@ public class PostController {
     }
 
     @GetMapping("/feed")
-    public ResponseEntity<?> getFeed(@AuthenticationPrincipal UserDetailsImpl userDetails) {
-        return ResponseEntity.ok(postService.getFeed(userDetails.getId()));
+    public ResponseEntity<?> getFeed(@AuthenticationPrincipal UserDetailsImpl userDetails,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) @Positive(message = "Cursor Id must be a positive number") Long cursorId,
+            @RequestParam(required = false) @Positive(message = "Page size must be a positive number") Integer size) {
+        return ResponseEntity.ok(postService.getFeed(userDetails.getId(), cursorCreatedAt, cursorId, size));
     }
 
     @GetMapping("/get/{id}")
@@ -84,8 +89,12 @@ public class PostController {
         return ResponseEntity.ok(postService.addComment(postId, userId, content));
     }
 
-    @GetMapping("/{postId}/getcomments")
-    public ResponseEntity<?> getComments(@PathVariable @Positive(message = "Post Id must be a positive number") Long postId) {
-        return ResponseEntity.ok(postService.getCommentsDto(postId));
+    @GetMapping("/{postId}/comments")
+    public ResponseEntity<?> getCommentsPage(
+            @PathVariable @Positive(message = "Post Id must be a positive number") Long postId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) @Positive(message = "Cursor Id must be a positive number") Long cursorId,
+            @RequestParam(required = false) @Positive(message = "Page size must be a positive number") Integer size) {
+        return ResponseEntity.ok(postService.getCommentsPage(postId, cursorCreatedAt, cursorId, size));
     }
 }
@@ -0,0 +1,20 @@
+package com.petconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    // Pass both values back to fetch the next page; null when there is none
+    private LocalDateTime nextCursorCreatedAt;
+    private Long nextCursorId;
+    private boolean hasMore;
+}
@@ -20,5 +20,7 @@ public class NotificationDto {
 
     private Long relatedPostId;
     private Long senderId;
+    private int aggregateCount;
     private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
 }
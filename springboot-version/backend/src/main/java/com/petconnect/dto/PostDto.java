@@ -22,5 +22,7 @@ public class PostDto {
     private String userFullName;
     private String userProfileImageUrl;
     private int likesCount;
+    private int commentsCount;
+    // Only the latest few comments; the rest are paged via /api/Posts/{postId}/comments
     private List<CommentDto> comments;
 }
@@ -0,0 +1,16 @@
+package com.petconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ReportMatchDto {
+    private MissingPetResponse report;
+    private Double score; // 0..1, higher is a better match
+    private Double distance;
+}
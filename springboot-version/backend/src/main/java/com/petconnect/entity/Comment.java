@@ -7,7 +7,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_created", columnList = "post_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
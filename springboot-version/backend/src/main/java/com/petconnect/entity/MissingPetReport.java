@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "missing_pet_reports")
+@Table(name = "missing_pet_reports", indexes = {
+        @Index(name = "idx_missing_reports_status_geo", columnList = "status, latitude, longitude")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -7,7 +7,11 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_read_created", columnList = "user_id, is_read, created_at"),
+        @Index(name = "idx_notifications_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notifications_read_created", columnList = "is_read, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -31,13 +35,23 @@ public class Notification {
 
     private Long relatedPostId;
 
-    private Long senderId;
+    private Long senderId; // latest sender when aggregated
 
+    // Number of events folded into this row (LIKE / COMMENT bursts)
+    @Column(name = "aggregate_count", nullable = false, columnDefinition = "int default 1")
+    private int aggregateCount = 1;
+
+    // Inbox order and keyset cursors use created_at, so aggregation never moves it
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Latest event folded into this row; drives the aggregation window
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
     }
 }
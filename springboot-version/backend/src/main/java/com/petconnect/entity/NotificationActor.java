@@ -0,0 +1,29 @@
+package com.petconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One row per distinct sender folded into an aggregated notification, so
+// aggregate_count counts people rather than events
+@Entity
+@Table(name = "notification_actors", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "notification_id", "sender_id" })
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationActor {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "notification_id", nullable = false)
+    @org.hibernate.annotations.OnDelete(action = org.hibernate.annotations.OnDeleteAction.CASCADE)
+    private Notification notification;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+}
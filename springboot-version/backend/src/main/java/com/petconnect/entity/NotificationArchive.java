@@ -0,0 +1,45 @@
+package com.petconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Read notifications moved out of the hot table by the retention job. Keeps the
+ * original id and plain user id (no foreign key) so rows can be copied in bulk.
+ */
+@Entity
+@Table(name = "notifications_archive", indexes = {
+        @Index(name = "idx_notifications_archive_user_created", columnList = "user_id, created_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationArchive {
+    @Id
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    private Long relatedPostId;
+
+    private Long senderId;
+
+    @Column(name = "aggregate_count", nullable = false)
+    private int aggregateCount;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -10,7 +10,9 @@ import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -26,6 +28,14 @@ public class Post {
     @Enumerated(EnumType.STRING)
     private Visibility visibility = Visibility.CONNECTIONS;
 
+    // Maintained with atomic in-database increments (see PostRepository), never
+    // written back from a loaded entity so a stale copy cannot clobber them.
+    @Column(name = "likes_count", nullable = false, updatable = false)
+    private int likesCount = 0;
+
+    @Column(name = "comments_count", nullable = false, updatable = false)
+    private int commentsCount = 0;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
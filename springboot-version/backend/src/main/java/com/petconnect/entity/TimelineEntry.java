@@ -0,0 +1,42 @@
+package com.petconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Precomputed feed row: CONNECTIONS post {@code postId} is visible to {@code userId}.
+ * Plain id columns keep rows compact; entries for deleted posts and users are
+ * removed by the timeline service and skipped on read if they linger.
+ */
+@Entity
+@Table(name = "timeline_entries", uniqueConstraints = {
+        @UniqueConstraint(columnNames = { "user_id", "post_id" })
+}, indexes = {
+        @Index(name = "idx_timeline_user_created", columnList = "user_id, post_created_at, post_id"),
+        @Index(name = "idx_timeline_post", columnList = "post_id"),
+        @Index(name = "idx_timeline_user_author", columnList = "user_id, author_id"),
+        @Index(name = "idx_timeline_author", columnList = "author_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimelineEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "author_id", nullable = false)
+    private Long authorId;
+
+    @Column(name = "post_created_at", nullable = false)
+    private LocalDateTime postCreatedAt;
+}
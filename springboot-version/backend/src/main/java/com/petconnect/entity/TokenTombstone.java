@@ -0,0 +1,27 @@
+package com.petconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted user whose stateless tokens may still be unexpired. There is
+ * no foreign key: the users row is gone by the time this one matters. Rows are
+ * pruned once {@code expiresAt}, the deletion time plus the longest token
+ * lifetime, has passed.
+ */
+@Entity
+@Table(name = "token_tombstones")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenTombstone {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -36,6 +36,10 @@ public class User {
     @Column(nullable = false)
     private String role = "USER";
 
+    // Bumped to revoke every token issued so far
+    @Column(name = "token_version", nullable = false, columnDefinition = "int default 0")
+    private int tokenVersion = 0;
+
     @Column(name = "created_at", updatable = false)
     private java.time.LocalDateTime createdAt;
 
@@ -0,0 +1,7 @@
+package com.petconnect.event;
+
+/**
+ * Published when an accepted connection between two users is created or removed.
+ */
+public record ConnectionChangedEvent(Long userId, Long otherUserId, boolean connected) {
+}
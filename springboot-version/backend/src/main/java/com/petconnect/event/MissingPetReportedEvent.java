@@ -0,0 +1,9 @@
+package com.petconnect.event;
+
+/**
+ * Published when a MISSING report is saved, so nearby users can be alerted
+ * once the report has committed.
+ */
+public record MissingPetReportedEvent(Long reportId, Long reporterId, String petName, String species,
+        String lastSeenLocation, double latitude, double longitude) {
+}
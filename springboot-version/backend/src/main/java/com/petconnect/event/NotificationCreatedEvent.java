@@ -0,0 +1,10 @@
+package com.petconnect.event;
+
+import com.petconnect.dto.NotificationDto;
+
+/**
+ * Published for every notification written to a user's inbox, so connected
+ * clients can be pushed the new entry once it has committed.
+ */
+public record NotificationCreatedEvent(Long userId, NotificationDto notification) {
+}
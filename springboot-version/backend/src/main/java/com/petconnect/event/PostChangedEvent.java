@@ -0,0 +1,12 @@
+package com.petconnect.event;
+
+import java.time.LocalDateTime;
+
+import com.petconnect.entity.Post;
+
+/**
+ * Published when a post is created, changes visibility or is deleted.
+ */
+public record PostChangedEvent(Long postId, Long authorId, LocalDateTime createdAt, Post.Visibility visibility,
+        boolean deleted) {
+}
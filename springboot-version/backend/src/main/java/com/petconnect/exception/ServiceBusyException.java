@@ -0,0 +1,13 @@
+package com.petconnect.exception;
+
+/**
+ * Thrown when a bounded resource (queue, executor) is saturated. Mapped to
+ * 503 so clients back off and retry instead of treating it as a bad request.
+ */
+public class ServiceBusyException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,93 @@
+package com.petconnect.job;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves read notifications older than the retention age into
+ * notifications_archive. Work is done in small chunks, each in its
+ * own short transaction with a pause in between, so the inbox table is never
+ * locked for long and the hot inbox stays a small working set. Chunks are read
+ * in (created_at, id) order, which is the order of the (is_read, created_at)
+ * index (InnoDB appends the primary key), so each chunk is a short index range
+ * scan instead of a sort of every expired row.
+ */
+@Component
+@RequiredArgsConstructor
+public class NotificationRetentionJob {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+
+    private static final String SELECT_EXPIRED = """
+            SELECT id FROM notifications
+            WHERE is_read = true AND created_at < ?
+            ORDER BY created_at, id
+            LIMIT ?
+            """;
+    private static final String COPY_TO_ARCHIVE = """
+            INSERT IGNORE INTO notifications_archive
+                (id, user_id, type, message, related_post_id, sender_id, aggregate_count, created_at, archived_at)
+            SELECT id, user_id, type, message, related_post_id, sender_id, aggregate_count, created_at, ?
+            FROM notifications WHERE id IN (%s)
+            """;
+    private static final String DELETE_ARCHIVED = "DELETE FROM notifications WHERE id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${petconnect.app.notificationRetentionDays:90}")
+    private int retentionDays;
+
+    @Value("${petconnect.app.notificationRetentionChunkSize:1000}")
+    private int chunkSize;
+
+    @Value("${petconnect.app.notificationRetentionPauseMs:100}")
+    private long pauseMs;
+
+    @Scheduled(cron = "${petconnect.app.notificationRetentionCron:0 0 4 * * *}")
+    public void archiveReadNotifications() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long archived = 0;
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+            archived += moved;
+            if (moved == chunkSize && pauseMs > 0) {
+                try {
+                    Thread.sleep(pauseMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        } while (moved == chunkSize);
+        logger.info("Notification retention finished: {} rows archived (read, older than {} days)",
+                archived, retentionDays);
+    }
+
+    private int archiveChunk(Timestamp cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(SELECT_EXPIRED, Long.class, cutoff, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(ids.size(), "?"));
+        Object[] copyArgs = new Object[ids.size() + 1];
+        copyArgs[0] = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < ids.size(); i++) {
+            copyArgs[i + 1] = ids.get(i);
+        }
+        jdbcTemplate.update(COPY_TO_ARCHIVE.formatted(placeholders), copyArgs);
+        jdbcTemplate.update(DELETE_ARCHIVED.formatted(placeholders), ids.toArray());
+        return ids.size();
+    }
+}
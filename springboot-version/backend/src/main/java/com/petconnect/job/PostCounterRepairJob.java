@@ -0,0 +1,48 @@
+package com.petconnect.job;
+
+import com.petconnect.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically recomputes posts.likes_count / comments_count from the source
+ * tables. Counters can drift when likes or comments disappear through
+ * ON DELETE CASCADE (e.g. a user is deleted), which bypasses the service layer.
+ * Also runs once at startup when the counter columns have just been added, so
+ * existing posts don't show 0 likes and comments until the nightly run.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostCounterRepairJob {
+    private static final Logger logger = LoggerFactory.getLogger(PostCounterRepairJob.class);
+
+    private final PostRepository postRepository;
+
+    @Value("${petconnect.app.postCounterRepairChunkSize:1000}")
+    private int chunkSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfNeeded() {
+        if (postRepository.countUncountedPosts() == 0) {
+            return;
+        }
+        logger.info("Posts with uninitialised counters found, backfilling now");
+        repairCounters();
+    }
+
+    @Scheduled(cron = "${petconnect.app.postCounterRepairCron:0 30 3 * * *}")
+    public void repairCounters() {
+        long maxId = postRepository.findMaxId();
+        int updated = 0;
+        for (long fromId = 1; fromId <= maxId; fromId += chunkSize) {
+            updated += postRepository.recomputeCounters(fromId, fromId + chunkSize - 1);
+        }
+        logger.info("Post counter repair finished: {} rows recomputed up to id {}", updated, maxId);
+    }
+}
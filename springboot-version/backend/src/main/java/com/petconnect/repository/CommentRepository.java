@@ -1,9 +1,45 @@
 package com.petconnect.repository;
 
 import com.petconnect.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findByPostId(Long postId);
+
+    // Ids of the newest :limit comments of each post, resolved on idx_comments_post_created
+    @Query(value = """
+    		SELECT ranked.id FROM (
+    			SELECT c.id, ROW_NUMBER() OVER (PARTITION BY c.post_id ORDER BY c.created_at DESC, c.id DESC) AS rn
+    			FROM comments c
+    			WHERE c.post_id IN (:postIds)
+    		) ranked
+    		WHERE ranked.rn <= :limit
+    		""", nativeQuery = true)
+    List<Long> findLatestIdsByPostIds(Collection<Long> postIds, int limit);
+
+    @Query("Select c From Comment c Join Fetch c.user Where c.id In :ids Order By c.createdAt Asc, c.id Asc")
+    List<Comment> findByIdInWithUser(Collection<Long> ids);
+
+    @Query("""
+    		Select c From Comment c Join Fetch c.user
+    		Where c.post.id = :postId
+    		Order By c.createdAt Desc, c.id Desc
+    		""")
+    List<Comment> findPageByPostId(Long postId, Pageable pageable);
+
+    @Query("""
+    		Select c From Comment c Join Fetch c.user
+    		Where c.post.id = :postId
+    		And (
+    			c.createdAt < :cursorCreatedAt
+    			Or (c.createdAt = :cursorCreatedAt And c.id < :cursorId)
+    		)
+    		Order By c.createdAt Desc, c.id Desc
+    		""")
+    List<Comment> findPageByPostIdAfter(Long postId, LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
 }
@@ -3,6 +3,7 @@ package com.petconnect.repository;
 import com.petconnect.entity.Follow;
 import com.petconnect.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +17,8 @@ public interface FollowRepository extends JpaRepository<Follow, Long> {
     List<Follow> findByFollowing(User following);
 
     void deleteByFollowerAndFollowing(User follower, User following);
+
+    // [followerId, followingId, status] for every edge; used to warm the connection graph
+    @Query("Select f.follower.id, f.following.id, f.status From Follow f")
+    List<Object[]> findAllEdges();
 }
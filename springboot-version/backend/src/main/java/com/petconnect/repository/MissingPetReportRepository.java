@@ -3,7 +3,10 @@ package com.petconnect.repository;
 import com.petconnect.entity.MissingPetReport;
 import com.petconnect.entity.MissingPetReport.ReportStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -11,4 +14,32 @@ public interface MissingPetReportRepository extends JpaRepository<MissingPetRepo
     List<MissingPetReport> findByStatus(ReportStatus status);
 
     List<MissingPetReport> findByReporterId(Long reporterId);
+
+    // Bounding box narrows the scan via idx_missing_reports_status_geo; the exact
+    // great-circle distance is then computed only for rows inside the box. The
+    // longitude band is given as two ranges so a box crossing the antimeridian
+    // can be split; callers pass the same range twice when it does not.
+    @Query(value = "SELECT r.id, (6371 * 2 * ASIN(SQRT(POWER(SIN(RADIANS(r.latitude - :lat) / 2), 2) "
+            + "+ COS(RADIANS(:lat)) * COS(RADIANS(r.latitude)) * POWER(SIN(RADIANS(r.longitude - :lon) / 2), 2)))) AS distance "
+            + "FROM missing_pet_reports r "
+            + "WHERE r.status IN (:statuses) "
+            + "AND r.latitude BETWEEN :minLat AND :maxLat "
+            + "AND (r.longitude BETWEEN :minLon AND :maxLon OR r.longitude BETWEEN :minLon2 AND :maxLon2) "
+            + "HAVING distance <= :radiusKm "
+            + "ORDER BY distance, r.id "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Object[]> findNearbyIds(@Param("lat") double lat, @Param("lon") double lon,
+            @Param("statuses") Collection<String> statuses,
+            @Param("minLat") double minLat, @Param("maxLat") double maxLat,
+            @Param("minLon") double minLon, @Param("maxLon") double maxLon,
+            @Param("minLon2") double minLon2, @Param("maxLon2") double maxLon2,
+            @Param("radiusKm") double radiusKm,
+            @Param("limit") int limit, @Param("offset") int offset);
+
+    @Query("SELECT r.id, r.reporter.id, r.status, r.species, r.breed, r.latitude, r.longitude, r.createdAt "
+            + "FROM MissingPetReport r WHERE r.status <> com.petconnect.entity.MissingPetReport.ReportStatus.REUNITED")
+    List<Object[]> findOpenReportRefs();
+
+    @Query("SELECT r FROM MissingPetReport r JOIN FETCH r.reporter LEFT JOIN FETCH r.pet WHERE r.id IN :ids")
+    List<MissingPetReport> findAllWithReporterByIdIn(@Param("ids") Collection<Long> ids);
 }
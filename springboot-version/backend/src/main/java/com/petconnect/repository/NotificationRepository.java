@@ -1,11 +1,82 @@
 package com.petconnect.repository;
 
 import com.petconnect.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     long countByUserIdAndIsReadFalse(Long userId);
+
+    @Query("""
+    		Select n From Notification n
+    		Where n.user.id = :userId
+    		Order By n.createdAt Desc, n.id Desc
+    		""")
+    List<Notification> findPage(Long userId, Pageable pageable);
+
+    @Query("""
+    		Select n From Notification n
+    		Where n.user.id = :userId
+    		And (
+    			n.createdAt < :cursorCreatedAt
+    			Or (n.createdAt = :cursorCreatedAt And n.id < :cursorId)
+    		)
+    		Order By n.createdAt Desc, n.id Desc
+    		""")
+    List<Notification> findPageAfter(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+
+    // Newest unread row for (user, type, post) with activity inside the window, locked so
+    // concurrent events for the same post fold into it one at a time
+    @Query(value = """
+    		SELECT id FROM notifications
+    		WHERE user_id = :userId AND type = :type AND related_post_id = :relatedPostId
+    			AND is_read = false AND updated_at >= :windowStart
+    		ORDER BY updated_at DESC
+    		LIMIT 1
+    		FOR UPDATE
+    		""", nativeQuery = true)
+    Optional<Long> findAggregationTarget(Long userId, String type, Long relatedPostId, LocalDateTime windowStart);
+
+    // 0 when the sender is already counted on this row
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO notification_actors (notification_id, sender_id) VALUES (:notificationId, :senderId)",
+            nativeQuery = true)
+    int addActor(Long notificationId, Long senderId);
+
+    // Recounts distinct senders and rewrites the message. created_at is left alone so
+    // keyset cursors stay valid. MySQL applies SET left to right, so the message sees the new count.
+    @Modifying
+    @Query(value = """
+    		UPDATE notifications
+    		SET aggregate_count = (SELECT COUNT(*) FROM notification_actors a WHERE a.notification_id = :id),
+    			sender_id = :senderId,
+    			updated_at = :now,
+    			message = CONCAT(:actorName, ' and ', aggregate_count - 1,
+    				IF(aggregate_count - 1 = 1, ' other ', ' others '), :action, '.')
+    		WHERE id = :id
+    		""", nativeQuery = true)
+    int refreshAggregate(Long id, Long senderId, String actorName, String action, LocalDateTime now);
+
+    @Modifying
+    @Query("Update Notification n Set n.isRead = true Where n.user.id = :userId And n.isRead = false")
+    int markAllRead(Long userId);
+
+    // Marks everything at or older than the cursor, i.e. what the user has scrolled past
+    @Modifying
+    @Query("""
+    		Update Notification n Set n.isRead = true
+    		Where n.user.id = :userId And n.isRead = false
+    		And (
+    			n.createdAt < :cursorCreatedAt
+    			Or (n.createdAt = :cursorCreatedAt And n.id <= :cursorId)
+    		)
+    		""")
+    int markReadUpTo(Long userId, LocalDateTime cursorCreatedAt, Long cursorId);
 }
@@ -2,8 +2,15 @@ package com.petconnect.repository;
 
 import com.petconnect.entity.Pet;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import java.util.List;
 
 public interface PetRepository extends JpaRepository<Pet, Long> {
     List<Pet> findByUserId(Long userId);
+
+    @Query("SELECT DISTINCT p.user.id, p.species FROM Pet p WHERE p.species IS NOT NULL")
+    List<Object[]> findAllOwnerSpecies();
+
+    @Query("SELECT DISTINCT p.species FROM Pet p WHERE p.user.id = :userId AND p.species IS NOT NULL")
+    List<String> findDistinctSpeciesByUserId(Long userId);
 }
@@ -10,6 +10,8 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface PostLikeRepository extends JpaRepository<PostLike, Long> {
     boolean existsByPostAndUser(Post post, User user);
+
+    boolean existsByPostIdAndUserId(Long postId, Long userId);
     
     Optional<PostLike> findByPostAndUser(Post post, User user);
 
@@ -3,33 +3,112 @@ package com.petconnect.repository;
 import com.petconnect.entity.Post;
 import com.petconnect.entity.User;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findByUser(User user);
-    
-    @Query(""" 
-    		Select Distinct p From Post p Where
-    			p.user =:user
-    			Or
-    			p.visibility = 'PUBLIC'
-    			Or (
-    				p.visibility = 'CONNECTIONS'
-    				And Exists (
-    					Select 1 From Follow f 
-    					Where f.status = 'ACCEPTED'
-    					And (
-    						(f.follower=:user And f.following=p.user)
-    						Or
-    						(f.following=:user And f.follower=p.user)
-    					)
+
+    // Keyset pagination over (createdAt, id) so MySQL can walk idx_posts_created_at_id
+    // backwards and stop after the page instead of sorting the whole table.
+    // connectionIds comes from the in-memory connection graph and must not be empty.
+    @Query("""
+    		Select p From Post p Join Fetch p.user Where
+    			(
+    				p.user.id = :userId
+    				Or
+    				p.visibility = 'PUBLIC'
+    				Or (
+    					p.visibility = 'CONNECTIONS'
+    					And p.user.id In :connectionIds
+    				)
+    			)
+    		Order By p.createdAt Desc, p.id Desc
+    		""")
+    List<Post> findFeedFirstPage(Long userId, Collection<Long> connectionIds, Pageable pageable);
+
+    @Query("""
+    		Select p From Post p Join Fetch p.user Where
+    			(
+    				p.user.id = :userId
+    				Or
+    				p.visibility = 'PUBLIC'
+    				Or (
+    					p.visibility = 'CONNECTIONS'
+    					And p.user.id In :connectionIds
     				)
     			)
-    		Order By p.createdAt Desc
-    			
+    			And (
+    				p.createdAt < :cursorCreatedAt
+    				Or (p.createdAt = :cursorCreatedAt And p.id < :cursorId)
+    			)
+    		Order By p.createdAt Desc, p.id Desc
+    		""")
+    List<Post> findFeedPageAfter(Long userId, Collection<Long> connectionIds, LocalDateTime cursorCreatedAt,
+            Long cursorId, Pageable pageable);
+
+    @Query("Select p.id From Post p Where p.id In :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("Select p From Post p Join Fetch p.user Where p.id In :ids")
+    List<Post> findAllWithUserByIdIn(Collection<Long> ids);
+
+    // [id, createdAt] pairs of PUBLIC posts, newest first
+    @Query("Select p.id, p.createdAt From Post p Where p.visibility = 'PUBLIC' Order By p.createdAt Desc, p.id Desc")
+    List<Object[]> findPublicRefs(Pageable pageable);
+
+    @Query("""
+    		Select p.id, p.createdAt From Post p
+    		Where p.visibility = 'PUBLIC'
+    		And (
+    			p.createdAt < :cursorCreatedAt
+    			Or (p.createdAt = :cursorCreatedAt And p.id < :cursorId)
+    		)
+    		Order By p.createdAt Desc, p.id Desc
     		""")
-    List<Post> findFeedWithConnections(User user);
+    List<Object[]> findPublicRefsAfter(LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+
+    @Query("Select p.user.id From Post p Where p.id = :postId")
+    Optional<Long> findOwnerIdById(Long postId);
+
+    @Modifying
+    @Query(value = "UPDATE posts SET comments_count = GREATEST(comments_count + :delta, 0) WHERE id = :postId", nativeQuery = true)
+    int adjustCommentsCount(Long postId, int delta);
+
+    @Query("Select Coalesce(Max(p.id), 0) From Post p")
+    long findMaxId();
+
+    // 1 when some post has likes or comments but both counters still read 0,
+    // which is the state every existing row is in right after the counter
+    // columns are added to the schema.
+    @Query(value = """
+    		SELECT COUNT(*) FROM (
+    			SELECT 1 FROM posts p
+    			WHERE p.likes_count = 0 AND p.comments_count = 0
+    			  AND (EXISTS (SELECT 1 FROM post_likes l WHERE l.post_id = p.id)
+    			       OR EXISTS (SELECT 1 FROM comments c WHERE c.post_id = p.id))
+    			LIMIT 1
+    		) t
+    		""", nativeQuery = true)
+    long countUncountedPosts();
+
+    // Recomputes counters for one id range; each call commits on its own so the
+    // repair job never holds locks on the whole table.
+    @Transactional
+    @Modifying
+    @Query(value = """
+    		UPDATE posts p SET
+    			p.likes_count = (SELECT COUNT(*) FROM post_likes l WHERE l.post_id = p.id),
+    			p.comments_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = p.id)
+    		WHERE p.id BETWEEN :fromId AND :toId
+    		""", nativeQuery = true)
+    int recomputeCounters(long fromId, long toId);
 }
@@ -0,0 +1,28 @@
+package com.petconnect.repository;
+
+import com.petconnect.entity.TimelineEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineEntryRepository extends JpaRepository<TimelineEntry, Long> {
+    @Query("""
+    		Select t From TimelineEntry t
+    		Where t.userId = :userId
+    		Order By t.postCreatedAt Desc, t.postId Desc
+    		""")
+    List<TimelineEntry> findPage(Long userId, Pageable pageable);
+
+    @Query("""
+    		Select t From TimelineEntry t
+    		Where t.userId = :userId
+    		And (
+    			t.postCreatedAt < :cursorCreatedAt
+    			Or (t.postCreatedAt = :cursorCreatedAt And t.postId < :cursorId)
+    		)
+    		Order By t.postCreatedAt Desc, t.postId Desc
+    		""")
+    List<TimelineEntry> findPageAfter(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, Pageable pageable);
+}
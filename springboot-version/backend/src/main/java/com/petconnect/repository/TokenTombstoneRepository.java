@@ -0,0 +1,18 @@
+package com.petconnect.repository;
+
+import com.petconnect.entity.TokenTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TokenTombstoneRepository extends JpaRepository<TokenTombstone, Long> {
+    List<TokenTombstone> findByExpiresAtAfter(LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("Delete From TokenTombstone t Where t.expiresAt <= :now")
+    int deleteExpired(LocalDateTime now);
+}
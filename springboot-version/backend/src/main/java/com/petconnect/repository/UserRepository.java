@@ -13,6 +13,33 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Boolean existsByUsername(String username);
 
+    @org.springframework.data.jpa.repository.Query("SELECT u.username FROM User u WHERE u.id = :id")
+    Optional<String> findUsernameById(Long id);
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, u.latitude, u.longitude FROM User u WHERE u.latitude IS NOT NULL AND u.longitude IS NOT NULL AND u.role <> 'ADMIN'")
+    java.util.List<Object[]> findIndexableLocations();
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.id FROM User u WHERE u.role <> 'ADMIN' ORDER BY u.createdAt DESC, u.id DESC")
+    java.util.List<Long> findRecentNonAdminIds(org.springframework.data.domain.Pageable pageable);
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    java.util.List<Long> findExistingIds(java.util.Collection<Long> ids);
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.id, u.tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    java.util.List<Object[]> findBumpedTokenVersions();
+
+    @org.springframework.data.jpa.repository.Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersionById(Long id);
+
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(Long id);
+
+    @org.springframework.transaction.annotation.Transactional
+    @org.springframework.data.jpa.repository.Modifying
+    @org.springframework.data.jpa.repository.Query("UPDATE User u SET u.password = :password WHERE u.id = :id")
+    int updatePassword(Long id, String password);
+
     @org.springframework.data.jpa.repository.Query("SELECT u FROM User u WHERE (LOWER(u.fullName) LIKE LOWER(CONCAT('%', :query, '%')) OR LOWER(u.username) LIKE LOWER(CONCAT('%', :query, '%'))) AND u.id <> :userId")
     java.util.List<User> searchUsers(String query, Long userId);
 }
@@ -0,0 +1,130 @@
+package com.petconnect.security;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petconnect.dto.ErrorResponse;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Throttles the unauthenticated, expensive auth endpoints (BCrypt, mail) per
+ * client IP and per email address. Rejected calls get 429 with Retry-After
+ * before any controller or database work happens.
+ */
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+    private static final Logger logger = LoggerFactory.getLogger(AuthRateLimitFilter.class);
+
+    // Auth payloads are tiny; anything larger is passed through without being inspected for an email
+    private static final int MAX_INSPECTED_BODY = 16 * 1024;
+
+    private static final Map<String, String> LIMITED_PATHS = Map.of(
+            "/api/auth/login", "login",
+            "/api/auth/register", "register",
+            "/api/auth/verify-otp", "verify-otp");
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${petconnect.app.rateLimit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${petconnect.app.rateLimit.ipPerMinute:30}")
+    private int ipPerMinute;
+
+    @Value("${petconnect.app.rateLimit.ipBurst:10}")
+    private int ipBurst;
+
+    @Value("${petconnect.app.rateLimit.emailPerMinute:5}")
+    private int emailPerMinute;
+
+    @Value("${petconnect.app.rateLimit.emailBurst:5}")
+    private int emailBurst;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod())
+                || !LIMITED_PATHS.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String endpoint = LIMITED_PATHS.get(request.getServletPath());
+
+        long waitNanos = rateLimiter.tryAcquire(endpoint + ":ip:" + request.getRemoteAddr(),
+                new RateLimiter.Limit(ipPerMinute, ipBurst));
+        if (waitNanos > 0) {
+            reject(request, response, endpoint, "ip", waitNanos);
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request, MAX_INSPECTED_BODY);
+        String email = extractEmail(cached.getBody());
+        if (email != null) {
+            waitNanos = rateLimiter.tryAcquire(endpoint + ":email:" + email,
+                    new RateLimiter.Limit(emailPerMinute, emailBurst));
+            if (waitNanos > 0) {
+                reject(request, response, endpoint, "email", waitNanos);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cached, response);
+    }
+
+    private String extractEmail(byte[] body) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode email = objectMapper.readTree(body).get("email");
+            return email != null && email.isTextual() ? email.asText().trim().toLowerCase() : null;
+        } catch (IOException e) {
+            // Malformed JSON is rejected by the controller; only the IP bucket applies
+            return null;
+        }
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, String endpoint, String keyType,
+            long waitNanos) throws IOException {
+        meterRegistry.counter("petconnect.ratelimit.rejected", "endpoint", endpoint, "key", keyType).increment();
+        logger.warn("Rate limited {} by {} from {}", endpoint, keyType, request.getRemoteAddr());
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error(HttpStatus.TOO_MANY_REQUESTS.getReasonPhrase())
+                .message("Too many requests, please try again later")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,44 @@
+package com.petconnect.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest BCrypt cost whose hash time stays within a target latency
+ * on the current hardware. Each step doubles the work, so the search is short.
+ */
+public final class BCryptCostCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(BCryptCostCalibrator.class);
+    private static final String SAMPLE = "calibration-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    public static int calibrate(int minCost, int maxCost, long targetMs) {
+        int chosen = minCost;
+        for (int cost = minCost; cost <= maxCost; cost++) {
+            long elapsedMs = measure(cost);
+            if (elapsedMs > targetMs && cost > minCost) {
+                break;
+            }
+            chosen = cost;
+            // The next cost will take about twice as long
+            if (elapsedMs * 2 > targetMs) {
+                break;
+            }
+        }
+        logger.info("BCrypt cost calibrated to {} (target {} ms)", chosen, targetMs);
+        return chosen;
+    }
+
+    private static long measure(int cost) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(cost);
+        encoder.encode(SAMPLE); // warm-up
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE);
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+}
@@ -0,0 +1,99 @@
+package com.petconnect.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Request wrapper that reads up to {@code maxBody} bytes of the body so a
+ * filter can inspect it and the controller can still bind it. Larger bodies
+ * are not held in memory: a declared Content-Length over the limit is not read
+ * at all, and otherwise only the first {@code maxBody + 1} bytes are buffered
+ * and replayed ahead of the rest of the original stream.
+ */
+class CachedBodyRequest extends HttpServletRequestWrapper {
+    private final byte[] head;
+    private final boolean complete;
+
+    CachedBodyRequest(HttpServletRequest request, int maxBody) throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBody) {
+            this.head = new byte[0];
+            this.complete = false;
+        } else {
+            this.head = request.getInputStream().readNBytes(maxBody + 1);
+            this.complete = head.length <= maxBody;
+        }
+    }
+
+    /** The whole body, or null when it is larger than the limit. */
+    byte[] getBody() {
+        return complete ? head : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() throws IOException {
+        ServletInputStream rest = super.getInputStream();
+        if (head.length == 0) {
+            return rest;
+        }
+        ByteArrayInputStream buffered = new ByteArrayInputStream(head);
+        return new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+                int b = buffered.read();
+                return b != -1 || complete ? b : rest.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                int n = buffered.read(b, off, len);
+                return n != -1 || complete ? n : rest.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return buffered.available() == 0 && (complete || rest.isFinished());
+            }
+
+            @Override
+            public boolean isReady() {
+                return buffered.available() > 0 || complete || rest.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                if (!complete) {
+                    rest.setReadListener(listener);
+                    return;
+                }
+                // The original stream is already drained, so the container has
+                // no more data events to deliver for the buffered bytes
+                try {
+                    listener.onDataAvailable();
+                    listener.onAllDataRead();
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() throws IOException {
+        String encoding = getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+    }
+}
@@ -7,6 +7,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,19 +22,51 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private JwtUtils jwtUtils;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private PrincipalCache principalCache;
+
+    @Autowired
+    private TokenVersionRegistry tokenVersions;
+
+    @Value("${petconnect.app.jwtStatelessPrincipal:true}")
+    private boolean statelessPrincipal;
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
 
+    static final String STREAM_PATH = "/api/Notifications/stream";
+    static final String STREAM_TOKEN_PARAM = "token";
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         try {
             String jwt = parseJwt(request);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String username = jwtUtils.getUserNameFromJwtToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            boolean fromQuery = false;
+            if (jwt == null && isStreamRequest(request)) {
+                jwt = request.getParameter(STREAM_TOKEN_PARAM);
+                fromQuery = jwt != null;
+            }
+            JwtClaims claims = jwt != null ? jwtUtils.parseToken(jwt) : null;
+            // Stream tokens are only good in the stream URL, access tokens never are
+            if (claims != null && claims.isStreamToken() != fromQuery) {
+                logger.warn("Rejected token presented outside its scope for user {}", claims.userId());
+                claims = null;
+            }
+            // Tokens without uid/tv claims predate revocation and cannot be checked
+            if (claims != null && !claims.isRevocable()) {
+                logger.warn("Rejected token without a token version for {}", claims.subject());
+                claims = null;
+            }
+            if (claims != null && !tokenVersions.isCurrent(claims.userId(), claims.tokenVersion())) {
+                logger.warn("Rejected revoked token for user {}", claims.userId());
+                claims = null;
+            }
+            if (claims != null) {
+                UserDetails userDetails;
+                if ((statelessPrincipal || claims.isStreamToken()) && claims.isSelfContained()) {
+                    userDetails = UserDetailsImpl.fromClaims(claims);
+                } else {
+                    userDetails = principalCache.get(claims.subject());
+                }
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -49,6 +82,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    private static boolean isStreamRequest(HttpServletRequest request) {
+        return "GET".equals(request.getMethod())
+                && STREAM_PATH.equals(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
     private String parseJwt(HttpServletRequest request) {
         String headerAuth = request.getHeader("Authorization");
 
@@ -0,0 +1,28 @@
+package com.petconnect.security;
+
+import java.util.Date;
+
+/**
+ * Verified contents of an access token. {@code userId}, {@code role},
+ * {@code email} and {@code tokenVersion} are null for tokens issued before
+ * those claims existed; such tokens cannot be checked for revocation.
+ * {@code scope} is null for regular access tokens and names the single use a
+ * narrow token (such as a notification stream token) is limited to.
+ */
+public record JwtClaims(String subject, Long userId, String role, String email, Integer tokenVersion,
+        Date expiration, String scope) {
+
+    /** True when the token carries enough to build the principal without a lookup. */
+    public boolean isSelfContained() {
+        return userId != null && role != null;
+    }
+
+    /** True when the token names a user and version, so revocation can be checked. */
+    public boolean isRevocable() {
+        return userId != null && tokenVersion != null;
+    }
+
+    public boolean isStreamToken() {
+        return JwtUtils.STREAM_SCOPE.equals(scope);
+    }
+}
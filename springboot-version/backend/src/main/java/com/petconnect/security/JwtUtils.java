@@ -5,9 +5,12 @@ import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
+import com.petconnect.entity.User;
+
+import jakarta.annotation.PostConstruct;
+
 import java.security.Key;
 import java.util.Date;
 
@@ -21,39 +24,88 @@ public class JwtUtils {
     @Value("${petconnect.app.jwtExpirationMs}")
     private int jwtExpirationMs;
 
-    public String generateJwtToken(Authentication authentication) {
-        UserDetailsImpl userPrincipal = (UserDetailsImpl) authentication.getPrincipal();
+    @Value("${petconnect.app.streamTokenExpirationMs:60000}")
+    private int streamTokenExpirationMs;
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_TOKEN_VERSION = "tv";
+    static final String CLAIM_SCOPE = "scope";
+
+    public static final String STREAM_SCOPE = "notification-stream";
 
+    private Key signingKey;
+    private JwtParser parser;
+
+    /**
+     * Token carrying everything the filter needs to build the principal, so
+     * authenticated requests do not have to read the user row.
+     */
+    public String generateTokenForUser(User user) {
         return Jwts.builder()
-                .setSubject((userPrincipal.getUsername()))
+                .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_EMAIL, user.getEmail())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    public String generateTokenFromUsername(String username) {
+    /**
+     * Short-lived token that only opens the caller's notification stream. It
+     * exists because EventSource cannot send an Authorization header, so the
+     * token travels in the query string where it may end up in access logs.
+     */
+    public String generateStreamToken(UserDetailsImpl principal, int tokenVersion) {
+        String role = principal.getAuthorities().stream()
+                .map(a -> a.getAuthority().replaceFirst("^ROLE_", ""))
+                .findFirst()
+                .orElse(null);
         return Jwts.builder()
-                .setSubject(username)
+                .setSubject(principal.getUsername())
+                .claim(CLAIM_USER_ID, principal.getId())
+                .claim(CLAIM_ROLE, role)
+                .claim(CLAIM_EMAIL, principal.getEmail())
+                .claim(CLAIM_TOKEN_VERSION, tokenVersion)
+                .claim(CLAIM_SCOPE, STREAM_SCOPE)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
+                .setExpiration(new Date((new Date()).getTime() + streamTokenExpirationMs))
                 .signWith(key(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
-    private Key key() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    // The key and parser are immutable and thread-safe, so they are built once
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
-    public String getUserNameFromJwtToken(String token) {
-        return Jwts.parserBuilder().setSigningKey(key()).build()
-                .parseClaimsJws(token).getBody().getSubject();
+    private Key key() {
+        return signingKey;
     }
 
-    public boolean validateJwtToken(String authToken) {
+    /**
+     * Verifies the token and returns its claims in a single parse, or null if
+     * the token is invalid or expired.
+     */
+    public JwtClaims parseToken(String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(key()).build().parse(authToken);
-            return true;
+            Claims claims = parser.parseClaimsJws(authToken).getBody();
+            Number userId = claims.get(CLAIM_USER_ID, Number.class);
+            Number tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+            return new JwtClaims(
+                    claims.getSubject(),
+                    userId != null ? userId.longValue() : null,
+                    claims.get(CLAIM_ROLE, String.class),
+                    claims.get(CLAIM_EMAIL, String.class),
+                    tokenVersion != null ? tokenVersion.intValue() : null,
+                    claims.getExpiration(),
+                    claims.get(CLAIM_SCOPE, String.class));
         } catch (MalformedJwtException e) {
             logger.error("Invalid JWT token: {}", e.getMessage());
         } catch (ExpiredJwtException e) {
@@ -64,6 +116,6 @@ public class JwtUtils {
             logger.error("JWT claims string is empty: {}", e.getMessage());
         }
 
-        return false;
+        return null;
     }
 }
@@ -0,0 +1,89 @@
+package com.petconnect.security;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Bounded, TTL-evicting cache of request principals keyed by username, so the
+ * JWT filter does not hit the users table on every call. It is only consulted
+ * when petconnect.app.jwtStatelessPrincipal is false, or for a token whose
+ * claims cannot build the principal on their own. Entries are dropped
+ * explicitly when a user is deleted, their tokens are revoked or their password
+ * hash is upgraded; the TTL bounds how long any other change can stay invisible.
+ */
+@Component
+public class PrincipalCache {
+    private final UserDetailsServiceImpl userDetailsService;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    @Value("${petconnect.app.principalCacheTtlMs:300000}")
+    private long ttlMs;
+
+    @Value("${petconnect.app.principalCacheMaxSize:10000}")
+    private int maxSize;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(UserDetails principal, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+
+    public PrincipalCache(UserDetailsServiceImpl userDetailsService, MeterRegistry meterRegistry) {
+        this.userDetailsService = userDetailsService;
+        this.hits = meterRegistry.counter("petconnect.auth.principal_cache", "result", "hit");
+        this.misses = meterRegistry.counter("petconnect.auth.principal_cache", "result", "miss");
+        this.evictions = meterRegistry.counter("petconnect.auth.principal_cache.evictions");
+        meterRegistry.gaugeMapSize("petconnect.auth.principal_cache.size", Tags.empty(), entries);
+    }
+
+    public UserDetails get(String username) {
+        long now = System.nanoTime();
+        Entry entry = entries.get(username);
+        if (entry != null && !entry.isExpired(now)) {
+            hits.increment();
+            return entry.principal();
+        }
+
+        misses.increment();
+        UserDetails principal = userDetailsService.loadUserByUsername(username);
+        if (entries.size() >= maxSize) {
+            evict(now);
+        }
+        entries.put(username, new Entry(principal, now + ttlMs * 1_000_000L));
+        return principal;
+    }
+
+    public void invalidate(String username) {
+        if (username != null) {
+            entries.remove(username);
+        }
+    }
+
+    // Drops expired entries; if that frees nothing, drops an arbitrary tenth of the cache
+    private void evict(long now) {
+        int before = entries.size();
+        entries.values().removeIf(e -> e.isExpired(now));
+        if (entries.size() >= maxSize) {
+            int toDrop = Math.max(1, maxSize / 10);
+            Iterator<String> it = entries.keySet().iterator();
+            while (toDrop-- > 0 && it.hasNext()) {
+                it.next();
+                it.remove();
+            }
+        }
+        evictions.increment(before - entries.size());
+    }
+}
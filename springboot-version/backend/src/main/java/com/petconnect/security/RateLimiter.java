@@ -0,0 +1,69 @@
+package com.petconnect.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+/**
+ * Lock-free token buckets implemented with GCRA: each key stores only its
+ * "theoretical arrival time", advanced with a CAS per permitted request. That
+ * is a continuously sliding window with no per-bucket timers or locks.
+ */
+@Component
+public class RateLimiter {
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public RateLimiter(MeterRegistry meterRegistry) {
+        meterRegistry.gaugeMapSize("petconnect.ratelimit.buckets", Tags.empty(), buckets);
+    }
+
+    /** Refill rate and burst size of a bucket. */
+    public record Limit(int perMinute, int burst) {
+        long emissionIntervalNanos() {
+            return TimeUnit.MINUTES.toNanos(1) / Math.max(perMinute, 1);
+        }
+
+        long toleranceNanos() {
+            return emissionIntervalNanos() * (Math.max(burst, 1) - 1);
+        }
+    }
+
+    /**
+     * Takes one token from the bucket for {@code key}. Returns 0 when allowed,
+     * otherwise the nanoseconds to wait before the next request would pass.
+     */
+    public long tryAcquire(String key, Limit limit) {
+        long interval = limit.emissionIntervalNanos();
+        long tolerance = limit.toleranceNanos();
+        AtomicLong tat = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = System.nanoTime();
+            long current = tat.get();
+            long start = (current == Long.MIN_VALUE || current - now < 0) ? now : current;
+            long waitNanos = start - now - tolerance;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    // Buckets whose arrival time has passed are full again and carry no state worth keeping
+    @Scheduled(fixedDelayString = "${petconnect.app.rateLimit.sweepIntervalMs:60000}")
+    public void sweepIdle() {
+        long now = System.nanoTime();
+        buckets.values().removeIf(tat -> {
+            long value = tat.get();
+            return value == Long.MIN_VALUE || value - now < 0;
+        });
+    }
+}
@@ -0,0 +1,94 @@
+package com.petconnect.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petconnect.entity.TokenTombstone;
+import com.petconnect.repository.TokenTombstoneRepository;
+import com.petconnect.repository.UserRepository;
+import com.petconnect.util.TransactionUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Deny-list for stateless tokens. Every token carries the user's token version;
+ * bumping the version revokes all tokens issued before it. Deleted users get a
+ * tombstone row that outlives their longest possible token, so a restart does
+ * not bring their tokens back. Only users whose version was ever bumped (or
+ * who were deleted) are held in memory, so checking a token costs one or two
+ * hash lookups.
+ */
+@Component
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(TokenVersionRegistry.class);
+
+    private final UserRepository userRepository;
+    private final TokenTombstoneRepository tombstoneRepository;
+
+    @Value("${petconnect.app.jwtExpirationMs}")
+    private long jwtExpirationMs;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    // Deleted user id -> time after which none of their tokens can still be valid
+    private final Map<Long, LocalDateTime> deletedUntil = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        for (Object[] row : userRepository.findBumpedTokenVersions()) {
+            versions.put((Long) row[0], (Integer) row[1]);
+        }
+        for (TokenTombstone tombstone : tombstoneRepository.findByExpiresAtAfter(LocalDateTime.now())) {
+            deletedUntil.put(tombstone.getUserId(), tombstone.getExpiresAt());
+        }
+        logger.info("Token version registry loaded with {} bumped versions and {} deleted users",
+                versions.size(), deletedUntil.size());
+    }
+
+    public int currentVersion(long userId) {
+        return versions.getOrDefault(userId, 0);
+    }
+
+    public boolean isCurrent(long userId, int tokenVersion) {
+        return !deletedUntil.containsKey(userId) && tokenVersion >= currentVersion(userId);
+    }
+
+    /** Invalidates every token issued to the user so far. */
+    @Transactional
+    public void revoke(long userId) {
+        userRepository.incrementTokenVersion(userId);
+        int version = userRepository.findTokenVersionById(userId).orElse(0);
+        TransactionUtils.afterCommit(() -> versions.merge(userId, version, Math::max));
+    }
+
+    /** Call inside the transaction that deletes the user so the tombstone commits with it. */
+    public void markDeleted(long userId) {
+        LocalDateTime expiresAt = LocalDateTime.now().plus(Duration.ofMillis(jwtExpirationMs));
+        tombstoneRepository.save(new TokenTombstone(userId, expiresAt));
+        TransactionUtils.afterCommit(() -> {
+            versions.remove(userId);
+            deletedUntil.put(userId, expiresAt);
+        });
+    }
+
+    // Past expiresAt every token the user held has expired on its own
+    @Scheduled(fixedDelayString = "${petconnect.app.tokenTombstonePruneMs:3600000}")
+    public void pruneExpired() {
+        LocalDateTime now = LocalDateTime.now();
+        deletedUntil.values().removeIf(until -> !until.isAfter(now));
+        int pruned = tombstoneRepository.deleteExpired(now);
+        if (pruned > 0) {
+            logger.info("Pruned {} expired token tombstones", pruned);
+        }
+    }
+}
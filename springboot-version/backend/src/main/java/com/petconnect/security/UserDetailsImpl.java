@@ -43,6 +43,18 @@ public class UserDetailsImpl implements UserDetails {
                 authorities);
     }
 
+    // Principal for a verified stateless token; there is no password to carry
+    public static UserDetailsImpl fromClaims(JwtClaims claims) {
+        List<GrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_" + claims.role()));
+
+        return new UserDetailsImpl(
+                claims.userId(),
+                claims.subject(),
+                claims.email(),
+                null,
+                authorities);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
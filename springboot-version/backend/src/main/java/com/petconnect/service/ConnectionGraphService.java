@@ -0,0 +1,35 @@
+package com.petconnect.service;
+
+/**
+ * In-memory view of the follows table as primitive id adjacency sets. Mutators
+ * called inside a transaction are applied after it commits.
+ */
+public interface ConnectionGraphService {
+    void addPending(long followerId, long followingId);
+
+    void accept(long followerId, long followingId);
+
+    void removeEdge(long followerId, long followingId);
+
+    void removeUser(long userId);
+
+    /**
+     * PENDING or ACCEPTED for an outgoing edge, INCOMING for a pending request
+     * from the other user, ACCEPTED for an accepted incoming edge, else NONE.
+     */
+    String getFollowStatus(long userId, long otherUserId);
+
+    boolean isConnected(long userId, long otherUserId);
+
+    /** Accepted connections in either direction, sorted ascending. */
+    long[] getConnectionIds(long userId);
+
+    /** Users this user follows or has requested, sorted ascending. */
+    long[] getFollowingIds(long userId);
+
+    /** Users following or requesting this user, sorted ascending. */
+    long[] getFollowerIds(long userId);
+
+    /** Incoming pending requests, sorted ascending. */
+    long[] getPendingRequestIds(long userId);
+}
@@ -8,6 +8,8 @@ public interface FollowService {
 
         String acceptRequest(Long followerId, Long followingId);
 
+        // Ranked best-first; a null or non-positive limit means
+        // petconnect.app.suggestionDefaultLimit, not every user
         List<UserDto> getSuggestions(Long userId, Integer limit);
 
         String unfollowUser(Long followerId, Long followingId);
@@ -3,12 +3,15 @@ package com.petconnect.service;
 import com.petconnect.dto.MissingPetRequest;
 import com.petconnect.dto.MissingPetResponse;
 import com.petconnect.dto.ContactResponse;
+import com.petconnect.dto.ReportMatchDto;
+import com.petconnect.entity.MissingPetReport.ReportStatus;
 import java.util.List;
 
 public interface MissingPetService {
         MissingPetResponse createReport(Long reporterId, MissingPetRequest request);
 
-        List<MissingPetResponse> getNearbyReports(Long userId, Double radiusKm);
+        List<MissingPetResponse> getNearbyReports(Long userId, Double radiusKm, List<ReportStatus> statuses,
+                        Integer page, Integer size);
 
         String contactReporter(Long reportId, Long userId, String message);
 
@@ -18,4 +21,6 @@ public interface MissingPetService {
 
         void deleteReport(Long reportId, Long userId);
 
+        List<ReportMatchDto> getMatches(Long reportId, Integer limit);
+
 }
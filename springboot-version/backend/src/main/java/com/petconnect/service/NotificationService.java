@@ -1,14 +1,35 @@
 package com.petconnect.service;
 
+import com.petconnect.dto.CursorPageDto;
 import com.petconnect.dto.NotificationDto;
+import java.time.LocalDateTime;
 import java.util.List;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 public interface NotificationService {
     void createNotification(Long userId, String type, String message, Long relatedPostId, Long senderId);
 
+    /**
+     * Like createNotification, but folds repeated events for the same (user, type, post) inside the
+     * aggregation window into one row, e.g. "alice and 241 others liked your post." The count is of
+     * distinct senders. The row keeps its created_at, and so its inbox position; updated_at tracks
+     * the latest event.
+     */
+    void createAggregatedNotification(Long userId, String type, String actorName, String action, String detail,
+            Long relatedPostId, Long senderId);
+
     List<NotificationDto> getNotifications(Long userId);
 
+    CursorPageDto<NotificationDto> getNotificationsPage(Long userId, LocalDateTime cursorCreatedAt, Long cursorId,
+            Integer size);
+
+    long getUnreadCount(Long userId);
+
+    SseEmitter subscribe(Long userId, Long lastEventId);
+
     void markAsRead(Long notificationId);
 
-    void markAllAsRead(Long userId);
+    int markAllAsRead(Long userId);
+
+    int markAsReadUpTo(Long userId, LocalDateTime cursorCreatedAt, Long cursorId);
 }
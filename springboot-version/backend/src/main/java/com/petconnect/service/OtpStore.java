@@ -0,0 +1,42 @@
+package com.petconnect.service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Storage for pending OTPs keyed by email. The in-memory implementation is the
+ * default; a shared implementation (e.g. a cache cluster) can be plugged in as
+ * a {@code @Primary} bean when several app nodes must see the same codes.
+ * Entries are immutable values; all mutable state (the failed attempt count)
+ * is changed through the store so a remote implementation can apply it
+ * atomically on its side.
+ */
+public interface OtpStore {
+
+    /**
+     * @param expiresAtNanos {@link System#nanoTime()} deadline used for expiry checks
+     * @param expiresAt      wall-clock expiry, only reported back to clients
+     */
+    record OtpEntry(String otp, long expiresAtNanos, LocalDateTime expiresAt) {
+        public boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    /** Stores a new code for the email, replacing any previous one and its attempt count. */
+    void save(String email, OtpEntry entry);
+
+    Optional<OtpEntry> find(String email);
+
+    /**
+     * Counts one wrong guess against the email's current code and returns the
+     * total so far, or 0 when there is no code.
+     */
+    int recordFailedAttempt(String email);
+
+    /** Removes the entry only if it is still the given one. */
+    void remove(String email, OtpEntry entry);
+
+    /** Drops expired entries and returns how many were removed. */
+    int sweepExpired();
+}
@@ -1,10 +1,12 @@
 package com.petconnect.service;
 
 import com.petconnect.dto.CommentDto;
+import com.petconnect.dto.CursorPageDto;
 import com.petconnect.dto.PostCreateUpdateRequestDto;
 import com.petconnect.dto.PostDto;
 import com.petconnect.entity.Comment;
 import com.petconnect.entity.Post;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface PostService {
@@ -14,7 +16,7 @@ public interface PostService {
 
     PostDto getPost(Long id);
 
-    List<PostDto> getFeed(Long userId);
+    CursorPageDto<PostDto> getFeed(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, Integer size);
 
     PostDto updatePost(Long id, PostCreateUpdateRequestDto postUpdateDto, Long userId);
 
@@ -26,11 +28,13 @@ public interface PostService {
 
     List<Comment> getComments(Long postId);
 
-    List<CommentDto> getCommentsDto(Long postId);
+    CursorPageDto<CommentDto> getCommentsPage(Long postId, LocalDateTime cursorCreatedAt, Long cursorId, Integer size);
 
     boolean isLiked(Long postId, Long userId);
 
     PostDto mapToPostDto(Post post);
 
+    List<PostDto> mapToPostDtos(List<Post> posts);
+
     CommentDto mapToCommentDto(Comment comment);
 }
@@ -0,0 +1,12 @@
+package com.petconnect.service;
+
+import java.util.List;
+
+public interface SuggestionService {
+    /** Ids of the best connection candidates for the user, best first. */
+    List<Long> suggest(Long userId, int limit);
+
+    void refreshSpecies(Long userId);
+
+    void removeUser(Long userId);
+}
@@ -0,0 +1,19 @@
+package com.petconnect.service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface TimelineService {
+    boolean isEnabled();
+
+    /**
+     * Ids of the next feed posts after the cursor, newest first: the user's
+     * precomputed connection timeline merged with the cached PUBLIC stream.
+     * Ids of posts that no longer exist are skipped and the page is refilled
+     * from further back, so a short result means the feed is exhausted.
+     */
+    List<Long> getFeedPostIds(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, int limit);
+
+    /** Drops the user's timeline and their posts from everyone else's; call inside the deleting transaction. */
+    void removeUser(Long userId);
+}
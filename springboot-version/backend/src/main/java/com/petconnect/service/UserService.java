@@ -21,5 +21,7 @@ public interface UserService {
 
     void deleteUser(Long id);
 
+    void revokeTokens(Long id);
+
     Map<String, Object> getSystemStats();
 }
@@ -0,0 +1,213 @@
+package com.petconnect.service.impl;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.petconnect.repository.FollowRepository;
+import com.petconnect.service.ConnectionGraphService;
+import com.petconnect.util.TransactionUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adjacency sets are sorted {@code long[]} arrays replaced copy-on-write, so
+ * reads are lock-free binary searches; writes (follow, accept, unfollow) are
+ * rare and serialized.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConnectionGraphServiceImpl implements ConnectionGraphService {
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionGraphServiceImpl.class);
+    private static final long[] EMPTY = new long[0];
+
+    private final FollowRepository followRepository;
+
+    private final Map<Long, long[]> acceptedOut = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> acceptedIn = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> pendingOut = new ConcurrentHashMap<>();
+    private final Map<Long, long[]> pendingIn = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void warmUp() {
+        int edges = 0;
+        for (Object[] row : followRepository.findAllEdges()) {
+            long followerId = (Long) row[0];
+            long followingId = (Long) row[1];
+            if ("ACCEPTED".equals(row[2])) {
+                link(acceptedOut, acceptedIn, followerId, followingId);
+            } else {
+                link(pendingOut, pendingIn, followerId, followingId);
+            }
+            edges++;
+        }
+        logger.info("Connection graph loaded with {} edges", edges);
+    }
+
+    @Override
+    public void addPending(long followerId, long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                link(pendingOut, pendingIn, followerId, followingId);
+            }
+        });
+    }
+
+    @Override
+    public void accept(long followerId, long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                unlink(pendingOut, pendingIn, followerId, followingId);
+                link(acceptedOut, acceptedIn, followerId, followingId);
+            }
+        });
+    }
+
+    @Override
+    public void removeEdge(long followerId, long followingId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                unlink(pendingOut, pendingIn, followerId, followingId);
+                unlink(acceptedOut, acceptedIn, followerId, followingId);
+            }
+        });
+    }
+
+    @Override
+    public void removeUser(long userId) {
+        TransactionUtils.afterCommit(() -> {
+            synchronized (this) {
+                dropUser(acceptedOut, acceptedIn, userId);
+                dropUser(pendingOut, pendingIn, userId);
+            }
+        });
+    }
+
+    @Override
+    public String getFollowStatus(long userId, long otherUserId) {
+        if (contains(acceptedOut, userId, otherUserId)) {
+            return "ACCEPTED";
+        }
+        if (contains(pendingOut, userId, otherUserId)) {
+            return "PENDING";
+        }
+        if (contains(pendingIn, userId, otherUserId)) {
+            return "INCOMING";
+        }
+        if (contains(acceptedIn, userId, otherUserId)) {
+            return "ACCEPTED";
+        }
+        return "NONE";
+    }
+
+    @Override
+    public boolean isConnected(long userId, long otherUserId) {
+        return contains(acceptedOut, userId, otherUserId) || contains(acceptedIn, userId, otherUserId);
+    }
+
+    @Override
+    public long[] getConnectionIds(long userId) {
+        return union(acceptedOut.getOrDefault(userId, EMPTY), acceptedIn.getOrDefault(userId, EMPTY));
+    }
+
+    @Override
+    public long[] getFollowingIds(long userId) {
+        return union(acceptedOut.getOrDefault(userId, EMPTY), pendingOut.getOrDefault(userId, EMPTY));
+    }
+
+    @Override
+    public long[] getFollowerIds(long userId) {
+        return union(acceptedIn.getOrDefault(userId, EMPTY), pendingIn.getOrDefault(userId, EMPTY));
+    }
+
+    @Override
+    public long[] getPendingRequestIds(long userId) {
+        return pendingIn.getOrDefault(userId, EMPTY).clone();
+    }
+
+    private static void link(Map<Long, long[]> out, Map<Long, long[]> in, long from, long to) {
+        out.compute(from, (k, ids) -> insert(ids, to));
+        in.compute(to, (k, ids) -> insert(ids, from));
+    }
+
+    private static void unlink(Map<Long, long[]> out, Map<Long, long[]> in, long from, long to) {
+        out.computeIfPresent(from, (k, ids) -> remove(ids, to));
+        in.computeIfPresent(to, (k, ids) -> remove(ids, from));
+    }
+
+    private static void dropUser(Map<Long, long[]> out, Map<Long, long[]> in, long userId) {
+        for (long to : out.getOrDefault(userId, EMPTY)) {
+            in.computeIfPresent(to, (k, ids) -> remove(ids, userId));
+        }
+        for (long from : in.getOrDefault(userId, EMPTY)) {
+            out.computeIfPresent(from, (k, ids) -> remove(ids, userId));
+        }
+        out.remove(userId);
+        in.remove(userId);
+    }
+
+    private static boolean contains(Map<Long, long[]> adjacency, long from, long to) {
+        long[] ids = adjacency.get(from);
+        return ids != null && Arrays.binarySearch(ids, to) >= 0;
+    }
+
+    private static long[] insert(long[] ids, long id) {
+        if (ids == null) {
+            return new long[] { id };
+        }
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos >= 0) {
+            return ids;
+        }
+        int insertAt = -pos - 1;
+        long[] updated = new long[ids.length + 1];
+        System.arraycopy(ids, 0, updated, 0, insertAt);
+        updated[insertAt] = id;
+        System.arraycopy(ids, insertAt, updated, insertAt + 1, ids.length - insertAt);
+        return updated;
+    }
+
+    // Returning null from compute removes the key, so empty sets take no memory
+    private static long[] remove(long[] ids, long id) {
+        int pos = Arrays.binarySearch(ids, id);
+        if (pos < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] updated = new long[ids.length - 1];
+        System.arraycopy(ids, 0, updated, 0, pos);
+        System.arraycopy(ids, pos + 1, updated, pos, ids.length - pos - 1);
+        return updated;
+    }
+
+    private static long[] union(long[] a, long[] b) {
+        long[] merged = new long[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                merged[n++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[n++] = b[j++];
+            } else {
+                merged[n++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[n++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[n++] = b[j++];
+        }
+        return n == merged.length ? merged : Arrays.copyOf(merged, n);
+    }
+}
@@ -1,62 +1,193 @@
 package com.petconnect.service.impl;
 
+import com.petconnect.exception.ServiceBusyException;
 import com.petconnect.service.EmailService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
-import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outbound mail goes through a bounded in-memory queue drained by a few worker
+ * threads, so callers (login) return as soon as the message is queued. Each
+ * worker sends what it drained as one batch over a single SMTP connection and
+ * retries the failed messages with exponential backoff.
+ */
 @Service
-@RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
+    private static final Logger logger = LoggerFactory.getLogger(EmailServiceImpl.class);
+
+    private static final String OTP_SUBJECT = "PetConnect - Your Security Verification Code";
+    private static final String OTP_HTML = """
+            <div style='font-family: "Segoe UI", Tahoma, Geneva, Verdana, sans-serif; max-width: 600px; margin: auto; padding: 20px; border: 1px solid #e2e8f0; border-radius: 15px;'>
+                <div style='text-align: center; margin-bottom: 30px;'>
+                    <h1 style='color: #ffb703; margin: 0;'>Welcome to PetConnect!</h1>
+                </div>
+
+                <p style='color: #475569; font-size: 16px; line-height: 1.5;'>Dear Valued User,</p>
+
+                <p style='color: #475569; font-size: 16px; line-height: 1.5;'>
+                    Thank you for using PetConnect. For your security, please use the following One-Time Password (OTP) to verify your account:
+                </p>
+
+                <div style='background-color: #f8fafc; padding: 30px; text-align: center; border-radius: 10px; margin: 25px 0;'>
+                    <span style='font-size: 48px; font-weight: 800; letter-spacing: 12px; color: #1e293b; font-family: monospace;'>{{otp}}</span>
+                </div>
+
+                <p style='color: #64748b; font-size: 14px; text-align: center;'>
+                    This code is valid for <strong>{{ttl}}</strong>.
+                </p>
+
+                <hr style='border: 0; border-top: 1px solid #e2e8f0; margin: 30px 0;'>
+
+                <p style='color: #94a3b8; font-size: 12px; font-style: italic;'>
+                    If you did not request this code, please ignore this email or contact our support if you have concerns.
+                </p>
+            </div>
+            """;
     private final JavaMailSender mailSender;
+    // The TTL is fixed per process, so it is filled in and the template split once; rendering is two concatenations
+    private final String[] otpTemplate;
+    private final BlockingQueue<OutboundMail> queue;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
 
-    @Override
-    public void sendOtp(String email, String otp) {
-        try {
-            MimeMessage message = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+    @Value("${petconnect.app.mail.workers:2}")
+    private int workerCount;
 
-            helper.setTo(email);
-            helper.setSubject("PetConnect - Your Security Verification Code");
+    @Value("${petconnect.app.mail.batchSize:20}")
+    private int batchSize;
 
-            String htmlContent = String.format(
-                    """
-                            <div style='font-family: "Segoe UI", Tahoma, Geneva, Verdana, sans-serif; max-width: 600px; margin: auto; padding: 20px; border: 1px solid #e2e8f0; border-radius: 15px;'>
-                                <div style='text-align: center; margin-bottom: 30px;'>
-                                    <h1 style='color: #ffb703; margin: 0;'>Welcome to PetConnect!</h1>
-                                </div>
+    @Value("${petconnect.app.mail.maxAttempts:3}")
+    private int maxAttempts;
 
-                                <p style='color: #475569; font-size: 16px; line-height: 1.5;'>Dear Valued User,</p>
+    @Value("${petconnect.app.mail.retryBackoffMs:500}")
+    private long retryBackoffMs;
 
-                                <p style='color: #475569; font-size: 16px; line-height: 1.5;'>
-                                    Thank you for using PetConnect. For your security, please use the following One-Time Password (OTP) to verify your account:
-                                </p>
+    private record OutboundMail(String to, String subject, String html) {
+    }
 
-                                <div style='background-color: #f8fafc; padding: 30px; text-align: center; border-radius: 10px; margin: 25px 0;'>
-                                    <span style='font-size: 48px; font-weight: 800; letter-spacing: 12px; color: #1e293b; font-family: monospace;'>%s</span>
-                                </div>
+    public EmailServiceImpl(JavaMailSender mailSender,
+            @Value("${petconnect.app.mail.queueCapacity:1000}") int queueCapacity,
+            @Value("${petconnect.app.otp.ttlMinutes:5}") int otpTtlMinutes) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        String ttl = otpTtlMinutes == 1 ? "1 minute" : otpTtlMinutes + " minutes";
+        this.otpTemplate = OTP_HTML.replace("{{ttl}}", ttl).split("\\{\\{otp\\}\\}", 2);
+    }
 
-                                <p style='color: #64748b; font-size: 14px; text-align: center;'>
-                                    This code is valid for <strong>5 minutes</strong>.
-                                </p>
+    @PostConstruct
+    void startWorkers() {
+        // Platform threads: SMTPTransport blocks inside synchronized methods, which would pin a virtual thread's carrier
+        for (int i = 0; i < workerCount; i++) {
+            workers.add(Thread.ofPlatform().daemon().name("mail-worker-" + i).start(this::drainLoop));
+        }
+    }
 
-                                <hr style='border: 0; border-top: 1px solid #e2e8f0; margin: 30px 0;'>
+    @PreDestroy
+    void stopWorkers() {
+        running = false;
+        workers.forEach(Thread::interrupt);
+    }
 
-                                <p style='color: #94a3b8; font-size: 12px; font-style: italic;'>
-                                    If you did not request this code, please ignore this email or contact our support if you have concerns.
-                                </p>
-                            </div>
-                            """,
-                    otp);
+    @Override
+    public void sendOtp(String email, String otp) {
+        String html = otpTemplate[0] + otp + otpTemplate[1];
+        if (!queue.offer(new OutboundMail(email, OTP_SUBJECT, html))) {
+            throw new ServiceBusyException("Email service is busy, please try again shortly");
+        }
+    }
 
-            helper.setText(htmlContent, true);
-            mailSender.send(message);
-            System.out.println("DEBUG: Sending HTML OTP " + otp + " to " + email);
-        } catch (MessagingException e) {
-            System.err.println("Failed to send email: " + e.getMessage());
+    private void drainLoop() {
+        List<OutboundMail> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                OutboundMail first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Mail worker failed to send a batch of {}", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendWithRetry(List<OutboundMail> batch) throws InterruptedException {
+        List<OutboundMail> pending = new ArrayList<>(batch);
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+            pending = sendBatch(pending);
+            if (!pending.isEmpty() && attempt < maxAttempts) {
+                logger.warn("{} mails failed (attempt {}), retrying in {} ms", pending.size(), attempt, backoff);
+                Thread.sleep(backoff);
+                backoff *= 2;
+            }
+        }
+        if (!pending.isEmpty()) {
+            logger.error("Giving up on {} mails after {} attempts", pending.size(), maxAttempts);
+        }
+    }
+
+    // Returns the mails that could not be delivered
+    private List<OutboundMail> sendBatch(List<OutboundMail> batch) {
+        List<OutboundMail> failed = new ArrayList<>();
+        List<MimeMessage> messages = new ArrayList<>(batch.size());
+        List<OutboundMail> built = new ArrayList<>(batch.size());
+        for (OutboundMail mail : batch) {
+            try {
+                MimeMessage message = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(message, true);
+                helper.setTo(mail.to());
+                helper.setSubject(mail.subject());
+                helper.setText(mail.html(), true);
+                messages.add(message);
+                built.add(mail);
+            } catch (MessagingException e) {
+                // Malformed address or content; retrying will not help
+                logger.error("Dropping mail to {}: {}", mail.to(), e.getMessage());
+            }
+        }
+        if (messages.isEmpty()) {
+            return failed;
+        }
+
+        try {
+            // JavaMailSenderImpl sends an array over one connection
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            for (int i = 0; i < messages.size(); i++) {
+                if (failedMessages.isEmpty() || failedMessages.containsKey(messages.get(i))) {
+                    failed.add(built.get(i));
+                }
+            }
+        } catch (MailException e) {
+            logger.warn("Mail batch failed: {}", e.getMessage());
+            failed.addAll(built);
         }
+        return failed;
     }
 }
@@ -4,15 +4,24 @@ import static com.petconnect.PetConnectApplication.mapList;
 import com.petconnect.dto.UserDto;
 import com.petconnect.entity.Follow;
 import com.petconnect.entity.User;
+import com.petconnect.event.ConnectionChangedEvent;
 import com.petconnect.repository.FollowRepository;
 import com.petconnect.repository.UserRepository;
+import com.petconnect.service.ConnectionGraphService;
 import com.petconnect.service.FollowService;
 import com.petconnect.service.NotificationService;
+import com.petconnect.service.SuggestionService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,6 +31,12 @@ public class FollowServiceImpl implements FollowService {
         private final UserRepository userRepository;
         private final NotificationService notificationService;
         private final org.modelmapper.ModelMapper modelMapper;
+        private final ApplicationEventPublisher eventPublisher;
+        private final ConnectionGraphService connectionGraph;
+        private final SuggestionService suggestionService;
+
+        @Value("${petconnect.app.suggestionDefaultLimit:20}")
+        private int defaultSuggestionLimit;
 
         @Override
         @Transactional
@@ -35,16 +50,21 @@ public class FollowServiceImpl implements FollowService {
                 User following = userRepository.findById(followingId)
                                 .orElseThrow(() -> new RuntimeException("User to follow not found"));
 
-                if (followRepository.existsByFollowerAndFollowing(follower, following)) {
+                String status = connectionGraph.getFollowStatus(followerId, followingId);
+                if ("PENDING".equals(status) || "ACCEPTED".equals(status)) {
                         throw new RuntimeException("Already a connection or request exists");
                 }
 
                 // If they already followed me, just accept it
-                Optional<Follow> reciprocal = followRepository.findByFollowerAndFollowing(following, follower);
+                Optional<Follow> reciprocal = "INCOMING".equals(status)
+                                ? followRepository.findByFollowerAndFollowing(following, follower)
+                                : Optional.empty();
                 if (reciprocal.isPresent()) {
                         Follow follow = reciprocal.get();
                         follow.setStatus("ACCEPTED");
                         followRepository.save(follow);
+                        connectionGraph.accept(followingId, followerId);
+                        eventPublisher.publishEvent(new ConnectionChangedEvent(followerId, followingId, true));
 
                         // Trigger Notification for the original requester
                         notificationService.createNotification(
@@ -62,6 +82,7 @@ public class FollowServiceImpl implements FollowService {
                 follow.setFollowing(following);
                 follow.setStatus("PENDING");
                 followRepository.save(follow);
+                connectionGraph.addPending(followerId, followingId);
 
                 // Trigger Notification
                 notificationService.createNotification(
@@ -87,6 +108,8 @@ public class FollowServiceImpl implements FollowService {
 
                 follow.setStatus("ACCEPTED");
                 followRepository.save(follow);
+                connectionGraph.accept(followerId, followingId);
+                eventPublisher.publishEvent(new ConnectionChangedEvent(followerId, followingId, true));
 
                 // Trigger Notification
                 notificationService.createNotification(
@@ -101,33 +124,24 @@ public class FollowServiceImpl implements FollowService {
 
         @Override
         public List<UserDto> getSuggestions(Long userId, Integer limit) {
-                // Simplified suggestion logic: users not being followed
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                // Get people I am already connected to or have sent a request to
-                List<Long> followingIds = followRepository.findByFollower(user).stream()
-                                .map(f -> f.getFollowing().getId())
-                                .collect(Collectors.toList());
-
-                // Also get people who followed me (to avoid suggesting people who are already
-                // in my requests)
-                List<Long> followerIds = followRepository.findByFollowing(user).stream()
-                                .map(f -> f.getFollower().getId())
-                                .collect(Collectors.toList());
-
-                followingIds.add(userId);
-                followingIds.addAll(followerIds);
-
-                java.util.stream.Stream<User> suggestionsStream = userRepository.findAll().stream()
-                				.filter(u -> !u.getRole().equals("ADMIN"))
-                                .filter(u -> !followingIds.contains(u.getId()));
+                if (!userRepository.existsById(userId)) {
+                        throw new RuntimeException("User not found");
+                }
 
-                if (limit != null && limit > 0) {
-                        suggestionsStream = suggestionsStream.limit(limit);
+                int size = (limit != null && limit > 0) ? limit : defaultSuggestionLimit;
+                List<Long> rankedIds = suggestionService.suggest(userId, size);
+                if (rankedIds.isEmpty()) {
+                        return List.of();
                 }
 
-                List<User> suggestions = suggestionsStream.collect(Collectors.toList());
+                // Keep the engine's ranking; findAllById returns rows in arbitrary order
+                Map<Long, User> usersById = userRepository.findAllById(rankedIds).stream()
+                                .filter(u -> !"ADMIN".equals(u.getRole()))
+                                .collect(Collectors.toMap(User::getId, Function.identity()));
+                List<User> suggestions = rankedIds.stream()
+                                .map(usersById::get)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList());
 
                 return mapList(modelMapper, suggestions, UserDto.class);
         }
@@ -145,6 +159,10 @@ public class FollowServiceImpl implements FollowService {
                                 .orElseThrow(() -> new RuntimeException("No connection found between these users"));
 
                 followRepository.delete(follow);
+                connectionGraph.removeEdge(follow.getFollower().getId(), follow.getFollowing().getId());
+                if ("ACCEPTED".equals(follow.getStatus())) {
+                        eventPublisher.publishEvent(new ConnectionChangedEvent(followerId, followingId, false));
+                }
                 return "Connection removed successfully";
         }
 
@@ -164,88 +182,33 @@ public class FollowServiceImpl implements FollowService {
                 }
 
                 followRepository.delete(follow);
+                connectionGraph.removeEdge(followerId, followingId);
                 return "Request cancelled successfully";
         }
 
         @Override
         public List<UserDto> getFollowers(Long userId) {
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-                List<User> followers = followRepository.findByFollowing(user).stream()
-                                .map(Follow::getFollower)
-                                .collect(Collectors.toList());
-                return mapList(modelMapper, followers, UserDto.class);
+                return mapUsers(connectionGraph.getFollowerIds(userId));
         }
 
         @Override
         public List<UserDto> getFollowing(Long userId) {
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-                List<User> following = followRepository.findByFollower(user).stream()
-                                .map(Follow::getFollowing)
-                                .collect(Collectors.toList());
-                return mapList(modelMapper, following, UserDto.class);
+                return mapUsers(connectionGraph.getFollowingIds(userId));
         }
 
         @Override
         public String getFollowStatus(Long followerId, Long followingId) {
-                User me = userRepository.findById(followerId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-                User other = userRepository.findById(followingId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                // Check outgoing request
-                Optional<Follow> outgoing = followRepository.findByFollowerAndFollowing(me, other);
-                if (outgoing.isPresent()) {
-                        return outgoing.get().getStatus(); // PENDING or ACCEPTED
-                }
-
-                // Check incoming request
-                Optional<Follow> incoming = followRepository.findByFollowerAndFollowing(other, me);
-                if (incoming.isPresent()) {
-                        return incoming.get().getStatus().equals("PENDING") ? "INCOMING" : "ACCEPTED";
-                }
-
-                return "NONE";
+                return connectionGraph.getFollowStatus(followerId, followingId);
         }
 
         @Override
         public List<UserDto> getConnections(Long userId) {
-                System.out.println("🔍 Getting connections for userId: " + userId);
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                // People I follow (ACCEPTED)
-                List<User> following = followRepository.findByFollower(user).stream()
-                                .filter(f -> "ACCEPTED".equals(f.getStatus()))
-                                .map(Follow::getFollowing)
-                                .collect(Collectors.toList());
-                System.out.println("📤 Following (ACCEPTED): " + following.size());
-
-                // People following me (ACCEPTED)
-                List<User> followers = followRepository.findByFollowing(user).stream()
-                                .filter(f -> "ACCEPTED".equals(f.getStatus()))
-                                .map(Follow::getFollower)
-                                .collect(Collectors.toList());
-                System.out.println("📥 Followers (ACCEPTED): " + followers.size());
-
-                // Merge and remove duplicates (if any)
-                following.addAll(followers);
-                List<User> distinctConnections = following.stream().distinct().collect(Collectors.toList());
-                System.out.println("✅ Total connections: " + distinctConnections.size());
-
-                return mapList(modelMapper, distinctConnections, UserDto.class);
+                return mapUsers(connectionGraph.getConnectionIds(userId));
         }
 
         @Override
         public List<UserDto> getPendingRequests(Long userId) {
-                User user = userRepository.findById(userId)
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-                List<User> pending = followRepository.findByFollowing(user).stream()
-                                .filter(f -> "PENDING".equals(f.getStatus()))
-                                .map(Follow::getFollower)
-                                .collect(Collectors.toList());
-                return mapList(modelMapper, pending, UserDto.class);
+                return mapUsers(connectionGraph.getPendingRequestIds(userId));
         }
 
         @Override
@@ -259,4 +222,20 @@ public class FollowServiceImpl implements FollowService {
                         return dto;
                 }).collect(Collectors.toList());
         }
+
+        // Ids come from the in-memory graph, sorted; only the profiles needed for the DTOs are
+        // read, and put back in id order since findAllById returns rows in no particular order
+        private List<UserDto> mapUsers(long[] ids) {
+                if (ids.length == 0) {
+                        return List.of();
+                }
+                Map<Long, User> byId = userRepository.findAllById(Arrays.stream(ids).boxed().collect(Collectors.toList()))
+                                .stream()
+                                .collect(Collectors.toMap(User::getId, Function.identity()));
+                List<User> users = Arrays.stream(ids)
+                                .mapToObj(byId::get)
+                                .filter(Objects::nonNull)
+                                .collect(Collectors.toList());
+                return mapList(modelMapper, users, UserDto.class);
+        }
 }
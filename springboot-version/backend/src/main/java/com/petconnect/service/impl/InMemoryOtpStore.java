@@ -0,0 +1,90 @@
+package com.petconnect.service.impl;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.petconnect.service.OtpStore;
+
+/**
+ * Single-node OTP store. Expired entries are swept on a schedule, and the map
+ * has a hard capacity: when full, expired entries go first and then the ones
+ * closest to expiry, so abandoned logins can never grow memory without bound.
+ */
+@Component
+public class InMemoryOtpStore implements OtpStore {
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryOtpStore.class);
+
+    @Value("${petconnect.app.otp.capacity:100000}")
+    private int capacity;
+
+    private final Map<String, Slot> entries = new ConcurrentHashMap<>();
+
+    private record Slot(OtpEntry entry, int failedAttempts) {
+    }
+
+    @Override
+    public void save(String email, OtpEntry entry) {
+        if (entries.size() >= capacity && !entries.containsKey(email)) {
+            makeRoom();
+        }
+        entries.put(email, new Slot(entry, 0));
+    }
+
+    @Override
+    public Optional<OtpEntry> find(String email) {
+        Slot slot = entries.get(email);
+        return slot != null ? Optional.of(slot.entry()) : Optional.empty();
+    }
+
+    @Override
+    public int recordFailedAttempt(String email) {
+        Slot updated = entries.computeIfPresent(email,
+                (k, slot) -> new Slot(slot.entry(), slot.failedAttempts() + 1));
+        return updated != null ? updated.failedAttempts() : 0;
+    }
+
+    @Override
+    public void remove(String email, OtpEntry entry) {
+        entries.computeIfPresent(email, (k, slot) -> slot.entry().equals(entry) ? null : slot);
+    }
+
+    @Scheduled(fixedDelayString = "${petconnect.app.otp.sweepIntervalMs:60000}")
+    public void scheduledSweep() {
+        sweepExpired();
+    }
+
+    @Override
+    public int sweepExpired() {
+        long now = System.nanoTime();
+        int before = entries.size();
+        entries.values().removeIf(slot -> slot.entry().isExpired(now));
+        int removed = before - entries.size();
+        if (removed > 0) {
+            logger.debug("Swept {} expired OTPs", removed);
+        }
+        return removed;
+    }
+
+    private synchronized void makeRoom() {
+        if (sweepExpired() > 0 || entries.size() < capacity) {
+            return;
+        }
+        // Still full of live codes: evict the tenth closest to expiry
+        int toEvict = Math.max(1, capacity / 10);
+        entries.entrySet().stream()
+                .sorted(Comparator.comparingLong(e -> e.getValue().entry().expiresAtNanos()))
+                .limit(toEvict)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(entries::remove);
+        logger.warn("OTP store at capacity ({}), evicted {} live entries", capacity, toEvict);
+    }
+}
@@ -0,0 +1,187 @@
+package com.petconnect.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BooleanSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Write-behind buffer for post likes. Toggles are collapsed per (postId, userId)
+ * in memory and only the net change is flushed to post_likes, in JDBC batches,
+ * on a short interval. Reads consult the buffer first so a user always sees the
+ * state of their own latest tap.
+ */
+@Component
+@RequiredArgsConstructor
+public class LikeWriteBuffer {
+    private static final Logger logger = LoggerFactory.getLogger(LikeWriteBuffer.class);
+
+    private static final String INSERT_LIKE = "INSERT IGNORE INTO post_likes (user_id, post_id) VALUES (?, ?)";
+    private static final String DELETE_LIKE = "DELETE FROM post_likes WHERE user_id = ? AND post_id = ?";
+    private static final String ADJUST_LIKES_COUNT =
+            "UPDATE posts SET likes_count = GREATEST(likes_count + ?, 0) WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<LikeKey, PendingLike> pending = new ConcurrentHashMap<>();
+    // Entries taken by a running flush; they stand in for the database state
+    // until the flush commits so concurrent toggles never read a stale row.
+    private final Map<LikeKey, PendingLike> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Flips the like state for the user. Returns true when the toggle produced a
+     * net new like (not an undo of a buffered unlike), which is when the post
+     * owner should be notified. {@code persistedLookup} is only consulted when
+     * nothing is buffered for the pair.
+     */
+    public boolean toggle(long postId, long userId, BooleanSupplier persistedLookup) {
+        LikeKey key = new LikeKey(postId, userId);
+        Boolean known = pending.containsKey(key) ? null : currentState(key, persistedLookup);
+        PendingLike updated = pending.compute(key, (k, current) -> {
+            if (current != null) {
+                return new PendingLike(current.persisted(), !current.liked());
+            }
+            boolean persisted = known != null ? known : currentState(k, persistedLookup);
+            return new PendingLike(persisted, !persisted);
+        });
+        return updated.liked() && !updated.persisted();
+    }
+
+    public boolean isBuffered(long postId, long userId) {
+        LikeKey key = new LikeKey(postId, userId);
+        return pending.containsKey(key) || inFlight.containsKey(key);
+    }
+
+    public boolean isLiked(long postId, long userId, BooleanSupplier persistedLookup) {
+        LikeKey key = new LikeKey(postId, userId);
+        PendingLike current = pending.get(key);
+        return current != null ? current.liked() : currentState(key, persistedLookup);
+    }
+
+    /**
+     * Net like-count change per post that is buffered but not yet reflected in
+     * posts.likes_count. Posts without pending changes are absent.
+     */
+    public Map<Long, Integer> pendingDeltas(Collection<Long> postIds) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        if (pending.isEmpty() && inFlight.isEmpty()) {
+            return deltas;
+        }
+        Set<Long> wanted = new HashSet<>(postIds);
+        Map<LikeKey, PendingLike> unflushed = new HashMap<>(inFlight);
+        unflushed.putAll(pending);
+        unflushed.forEach((key, like) -> {
+            if (like.liked() != like.persisted() && wanted.contains(key.postId())) {
+                deltas.merge(key.postId(), like.liked() ? 1 : -1, Integer::sum);
+            }
+        });
+        return deltas;
+    }
+
+    @Scheduled(fixedDelayString = "${petconnect.app.likeFlushIntervalMs:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Map<LikeKey, PendingLike> batch = new HashMap<>();
+        for (LikeKey key : new ArrayList<>(pending.keySet())) {
+            PendingLike like = pending.get(key);
+            if (like == null) {
+                continue;
+            }
+            inFlight.put(key, like);
+            if (pending.remove(key, like)) {
+                batch.put(key, like);
+            } else {
+                // Toggled again while we were draining; pick it up next round
+                inFlight.remove(key, like);
+            }
+        }
+
+        List<LikeKey> inserts = new ArrayList<>();
+        List<LikeKey> deletes = new ArrayList<>();
+        batch.forEach((key, like) -> {
+            if (like.liked() != like.persisted()) {
+                (like.liked() ? inserts : deletes).add(key);
+            }
+        });
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(inserts, deletes));
+        } catch (RuntimeException e) {
+            logger.error("Failed to flush {} buffered likes, will retry: {}", batch.size(), e.getMessage());
+            // A toggle made during the flush took its baseline from the unwritten
+            // in-flight value; rebase it onto what the database really holds.
+            batch.forEach((key, failed) -> pending.merge(key, failed,
+                    (newer, old) -> new PendingLike(old.persisted(), newer.liked())));
+        } finally {
+            batch.forEach(inFlight::remove);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void write(List<LikeKey> inserts, List<LikeKey> deletes) {
+        Map<Long, Integer> countDeltas = new HashMap<>();
+        // Statements are idempotent, so counters follow the rows actually changed
+        applyBatch(INSERT_LIKE, inserts, 1, countDeltas);
+        applyBatch(DELETE_LIKE, deletes, -1, countDeltas);
+
+        List<Object[]> counterArgs = new ArrayList<>();
+        countDeltas.forEach((postId, delta) -> {
+            if (delta != 0) {
+                counterArgs.add(new Object[] { delta, postId });
+            }
+        });
+        if (!counterArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADJUST_LIKES_COUNT, counterArgs);
+        }
+    }
+
+    private void applyBatch(String sql, List<LikeKey> keys, int sign, Map<Long, Integer> countDeltas) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        List<Object[]> args = new ArrayList<>(keys.size());
+        for (LikeKey key : keys) {
+            args.add(new Object[] { key.userId(), key.postId() });
+        }
+        int[] affected = jdbcTemplate.batchUpdate(sql, args);
+        for (int i = 0; i < affected.length; i++) {
+            if (affected[i] > 0) {
+                countDeltas.merge(keys.get(i).postId(), sign, Integer::sum);
+            }
+        }
+    }
+
+    private boolean currentState(LikeKey key, BooleanSupplier persistedLookup) {
+        PendingLike flushing = inFlight.get(key);
+        return flushing != null ? flushing.liked() : persistedLookup.getAsBoolean();
+    }
+
+    private record LikeKey(long postId, long userId) {
+    }
+
+    private record PendingLike(boolean persisted, boolean liked) {
+    }
+}
@@ -0,0 +1,197 @@
+package com.petconnect.service.impl;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.petconnect.dto.NotificationDto;
+import com.petconnect.event.MissingPetReportedEvent;
+import com.petconnect.event.NotificationCreatedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Alerts users near a newly reported missing pet. Runs on the async executor
+ * after the report commits, picks recipients from {@link UserLocationIndex}
+ * and writes the notifications in chunks. Each chunk is retried with
+ * exponential backoff and progress is exported through Micrometer.
+ * Recipients deleted since they were indexed are skipped by the insert itself,
+ * so one stale id cannot fail the rest of its chunk.
+ */
+@Component
+public class MissingPetAlertDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(MissingPetAlertDispatcher.class);
+
+    // Selecting from users drops recipients that no longer exist instead of violating the FK
+    private static final String INSERT_NOTIFICATIONS = """
+            INSERT INTO notifications
+                (user_id, type, message, is_read, related_post_id, sender_id, created_at, updated_at)
+            SELECT id, ?, ?, false, ?, ?, ?, ? FROM users WHERE id IN (%s)
+            """;
+    // A report alerts each user once, so (type, report, user) identifies the new rows
+    private static final String SELECT_INSERTED = """
+            SELECT user_id, id FROM notifications
+            WHERE type = ? AND related_post_id = ? AND user_id IN (%s)
+            """;
+    static final String ALERT_TYPE = "URGENT";
+
+    private final UserLocationIndex locationIndex;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UnreadCounterCache unreadCounters;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Counter recipientsCounter;
+    private final Counter deliveredCounter;
+    private final Counter failedCounter;
+    private final Counter retryCounter;
+    private final Timer dispatchTimer;
+    private final AtomicLong pendingRecipients = new AtomicLong();
+
+    @Value("${petconnect.app.alerts.radiusKm:5}")
+    private double radiusKm;
+
+    @Value("${petconnect.app.alerts.batchSize:500}")
+    private int batchSize;
+
+    @Value("${petconnect.app.alerts.maxAttempts:3}")
+    private int maxAttempts;
+
+    @Value("${petconnect.app.alerts.retryBackoffMs:200}")
+    private long retryBackoffMs;
+
+    public MissingPetAlertDispatcher(UserLocationIndex locationIndex, JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate, UnreadCounterCache unreadCounters, ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry) {
+        this.locationIndex = locationIndex;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.unreadCounters = unreadCounters;
+        this.eventPublisher = eventPublisher;
+        this.recipientsCounter = meterRegistry.counter("petconnect.alerts.recipients");
+        this.deliveredCounter = meterRegistry.counter("petconnect.alerts.delivered");
+        this.failedCounter = meterRegistry.counter("petconnect.alerts.failed");
+        this.retryCounter = meterRegistry.counter("petconnect.alerts.retries");
+        this.dispatchTimer = meterRegistry.timer("petconnect.alerts.dispatch");
+        meterRegistry.gauge("petconnect.alerts.pending", pendingRecipients);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMissingPetReported(MissingPetReportedEvent event) {
+        dispatchTimer.record(() -> dispatch(event));
+    }
+
+    private void dispatch(MissingPetReportedEvent event) {
+        List<Long> recipients = new ArrayList<>();
+        for (UserLocationIndex.Neighbor neighbor : locationIndex.within(event.latitude(), event.longitude(), radiusKm)) {
+            if (neighbor.userId() != event.reporterId()) {
+                recipients.add(neighbor.userId());
+            }
+        }
+        if (recipients.isEmpty()) {
+            return;
+        }
+
+        recipientsCounter.increment(recipients.size());
+        pendingRecipients.addAndGet(recipients.size());
+        String message = "MISSING PET NEARBY: " + event.petName() + " (" + event.species()
+                + ") was last seen near " + event.lastSeenLocation();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        int delivered = 0;
+        for (int from = 0; from < recipients.size(); from += batchSize) {
+            List<Long> chunk = recipients.subList(from, Math.min(from + batchSize, recipients.size()));
+            Map<Long, Long> inserted = insertWithRetry(chunk, message, event, now);
+            if (inserted != null) {
+                deliveredCounter.increment(inserted.size());
+                delivered += inserted.size();
+                inserted.forEach((userId, notificationId) -> {
+                    unreadCounters.increment(userId, 1);
+                    eventPublisher.publishEvent(new NotificationCreatedEvent(userId, NotificationDto.builder()
+                            .id(notificationId)
+                            .type(ALERT_TYPE)
+                            .message(message)
+                            .relatedPostId(event.reportId())
+                            .senderId(event.reporterId())
+                            .aggregateCount(1)
+                            .createdAt(now.toLocalDateTime())
+                            .updatedAt(now.toLocalDateTime())
+                            .build()));
+                });
+            } else {
+                failedCounter.increment(chunk.size());
+                logger.error("Giving up on {} missing-pet alerts for report {}", chunk.size(), event.reportId());
+            }
+            pendingRecipients.addAndGet(-chunk.size());
+        }
+        logger.info("Dispatched missing-pet alerts for report {} to {} of {} users", event.reportId(), delivered,
+                recipients.size());
+    }
+
+    // Returns recipient id -> new notification id, or null once every attempt has failed
+    private Map<Long, Long> insertWithRetry(List<Long> chunk, String message, MissingPetReportedEvent event,
+            Timestamp now) {
+        long backoff = retryBackoffMs;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertChunk(chunk, message, event, now));
+            } catch (RuntimeException e) {
+                if (attempt == maxAttempts) {
+                    logger.warn("Alert batch failed after {} attempts", attempt, e);
+                    return null;
+                }
+                retryCounter.increment();
+                logger.warn("Alert batch failed (attempt {}), retrying in {} ms", attempt, backoff);
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return null;
+                }
+                backoff *= 2;
+            }
+        }
+        return null;
+    }
+
+    private Map<Long, Long> insertChunk(List<Long> chunk, String message, MissingPetReportedEvent event,
+            Timestamp now) {
+        String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+        List<Object> insertArgs = new ArrayList<>(chunk.size() + 6);
+        insertArgs.addAll(Arrays.asList(ALERT_TYPE, message, event.reportId(), event.reporterId(), now, now));
+        insertArgs.addAll(chunk);
+        int inserted = jdbcTemplate.update(INSERT_NOTIFICATIONS.formatted(placeholders), insertArgs.toArray());
+        if (inserted == 0) {
+            return Map.of();
+        }
+
+        // Multi-row inserts do not reliably return every generated key, so read them back
+        List<Object> selectArgs = new ArrayList<>(chunk.size() + 2);
+        selectArgs.addAll(Arrays.asList(ALERT_TYPE, event.reportId()));
+        selectArgs.addAll(chunk);
+        Map<Long, Long> ids = new HashMap<>(inserted * 2);
+        jdbcTemplate.query(SELECT_INSERTED.formatted(placeholders),
+                (RowCallbackHandler) rs -> ids.put(rs.getLong(1), rs.getLong(2)), selectArgs.toArray());
+        return ids;
+    }
+}
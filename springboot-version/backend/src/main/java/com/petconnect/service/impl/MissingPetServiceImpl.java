@@ -2,22 +2,32 @@ package com.petconnect.service.impl;
 
 import com.petconnect.dto.MissingPetRequest;
 import com.petconnect.dto.MissingPetResponse;
+import com.petconnect.dto.ReportMatchDto;
 import com.petconnect.entity.MissingPetReport;
 import com.petconnect.entity.MissingPetReport.ReportStatus;
 import com.petconnect.entity.Pet;
 import com.petconnect.entity.User;
+import com.petconnect.event.MissingPetReportedEvent;
 import com.petconnect.repository.MissingPetReportRepository;
 import com.petconnect.repository.PetRepository;
 import com.petconnect.repository.UserRepository;
 import com.petconnect.service.MissingPetService;
 import com.petconnect.service.NotificationService;
+import com.petconnect.util.GeoUtils;
 import lombok.RequiredArgsConstructor;
 import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,6 +40,20 @@ public class MissingPetServiceImpl implements MissingPetService {
     private final com.petconnect.repository.MissingPetContactRepository contactRepository;
     private final NotificationService notificationService;
     private final ModelMapper modelMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReportMatchIndex matchIndex;
+
+    @Value("${petconnect.app.reportPageSize:20}")
+    private int reportPageSize;
+
+    @Value("${petconnect.app.maxPageSize:50}")
+    private int maxPageSize;
+
+    @Value("${petconnect.app.matchNotifyThreshold:0.6}")
+    private double matchNotifyThreshold;
+
+    @Value("${petconnect.app.matchNotifyLimit:5}")
+    private int matchNotifyLimit;
 
     @Override
     public List<MissingPetResponse> getReportsByUser(Long userId) {
@@ -63,10 +87,14 @@ public class MissingPetServiceImpl implements MissingPetService {
         }
 
         MissingPetReport savedReport = reportRepository.save(report);
+        matchIndex.add(savedReport);
 
 
         if (savedReport.getStatus() == ReportStatus.MISSING) {
-            notifyNearbyUsers(savedReport);
+            // Nearby users are alerted in the background once this transaction commits
+            eventPublisher.publishEvent(new MissingPetReportedEvent(savedReport.getId(), reporterId,
+                    savedReport.getPetName(), savedReport.getSpecies(), savedReport.getLastSeenLocation(),
+                    savedReport.getLatitude(), savedReport.getLongitude()));
         }
 
         
@@ -76,7 +104,9 @@ public class MissingPetServiceImpl implements MissingPetService {
     }
 
     @Override
-    public List<MissingPetResponse> getNearbyReports(Long userId, Double radiusKm) {
+    @Transactional(readOnly = true)
+    public List<MissingPetResponse> getNearbyReports(Long userId, Double radiusKm, List<ReportStatus> statuses,
+            Integer page, Integer size) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -84,87 +114,108 @@ public class MissingPetServiceImpl implements MissingPetService {
             return List.of();
         }
 
-        List<MissingPetReport> allReports = reportRepository.findAll();
-
-        return allReports.stream()
-                .map(report -> {
-                    double distance = calculateDistance(user.getLatitude(), user.getLongitude(),
-                            report.getLatitude(), report.getLongitude());
-                    MissingPetResponse response = modelMapper.map(report, MissingPetResponse.class);
-                    response.setDistance(Math.round(distance * 100.0) / 100.0);
-                    return response;
-                })
-                .filter(resp -> resp.getDistance() <= radiusKm)
-                .sorted(Comparator.comparing(MissingPetResponse::getDistance))
-                .collect(Collectors.toList());
-    }
+        // Reunited pets are no longer relevant unless explicitly asked for
+        List<String> statusNames = (statuses == null || statuses.isEmpty()
+                ? List.of(ReportStatus.MISSING, ReportStatus.FOUND)
+                : statuses).stream().map(Enum::name).distinct().collect(Collectors.toList());
+        int pageSize = (size == null || size <= 0) ? reportPageSize : Math.min(size, maxPageSize);
+        int offset = (page == null || page < 0 ? 0 : page) * pageSize;
+
+        double lat = user.getLatitude();
+        double lon = user.getLongitude();
+        double latDelta = GeoUtils.latDelta(radiusKm);
+        double[][] lonRanges = GeoUtils.lonRanges(lon, GeoUtils.lonDelta(lat, radiusKm));
+        double[] second = lonRanges[lonRanges.length - 1];
+        List<Object[]> rows = reportRepository.findNearbyIds(lat, lon, statusNames,
+                lat - latDelta, lat + latDelta, lonRanges[0][0], lonRanges[0][1], second[0], second[1],
+                radiusKm, pageSize, offset);
+        if (rows.isEmpty()) {
+            return List.of();
+        }
 
-    private void notifyNearbyUsers(MissingPetReport report) {
-        List<User> allUsers = userRepository.findAll();
-        double radiusKm = 5.0; 
-
-        allUsers.stream()
-                .filter(u -> !u.getId().equals(report.getReporter().getId()))
-                .filter(u -> u.getLatitude() != null && u.getLongitude() != null)
-                .forEach(u -> {
-                    double dist = calculateDistance(u.getLatitude(), u.getLongitude(),
-                            report.getLatitude(), report.getLongitude());
-                    if (dist <= radiusKm) {
-                        notificationService.createNotification(
-                                u.getId(),
-                                "URGENT",
-                                "MISSING PET NEARBY: " + report.getPetName() + " (" + report.getSpecies()
-                                        + ") was last seen near " + report.getLastSeenLocation(),
-                                report.getId(),
-                                report.getReporter().getId());
-                    }
-                });
+        Map<Long, Double> distanceById = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            distanceById.put(((Number) row[0]).longValue(), ((Number) row[1]).doubleValue());
+        }
+        Map<Long, MissingPetReport> reportsById = reportRepository.findAllWithReporterByIdIn(distanceById.keySet())
+                .stream()
+                .collect(Collectors.toMap(MissingPetReport::getId, Function.identity()));
+
+        List<MissingPetResponse> responses = new ArrayList<>(distanceById.size());
+        distanceById.forEach((id, distance) -> {
+            MissingPetReport report = reportsById.get(id);
+            if (report != null) {
+                MissingPetResponse response = modelMapper.map(report, MissingPetResponse.class);
+                response.setDistance(Math.round(distance * 100.0) / 100.0);
+                responses.add(response);
+            }
+        });
+        return responses;
     }
 
     private void checkForMatches(MissingPetReport newReport) {
-        
-        ReportStatus lookForStatus = (newReport.getStatus() == ReportStatus.MISSING) ? ReportStatus.FOUND
-                : ReportStatus.MISSING;
-
-        List<MissingPetReport> candidates = reportRepository.findByStatus(lookForStatus);
-
-        candidates.stream()
-                .filter(c -> c.getSpecies().equalsIgnoreCase(newReport.getSpecies()))
-                .filter(c -> c.getBreed() != null && newReport.getBreed() != null
-                        && c.getBreed().equalsIgnoreCase(newReport.getBreed()))
-                .forEach(match -> {
-                    double dist = calculateDistance(newReport.getLatitude(), newReport.getLongitude(),
-                            match.getLatitude(), match.getLongitude());
-                    if (dist <= 10.0) { 
-                        
-                        notificationService.createNotification(
-                                newReport.getReporter().getId(),
-                                "MATCH_FOUND",
-                                "A potential match for your "
-                                        + (newReport.getStatus() == ReportStatus.MISSING ? "lost" : "found")
-                                        + " pet was reported nearby!",
-                                newReport.getId(),
-                                match.getReporter().getId());
-
-                        notificationService.createNotification(
-                                match.getReporter().getId(),
-                                "MATCH_FOUND",
-                                "A potential match for the pet you reported was just posted!",
-                                match.getId(),
-                                newReport.getReporter().getId());
-                    }
-                });
+        List<ReportMatchIndex.Match> matches = matchIndex.findMatches(newReport.getId(), newReport.getStatus(),
+                newReport.getSpecies(), newReport.getBreed(), newReport.getLatitude(), newReport.getLongitude(),
+                newReport.getCreatedAt(), matchNotifyLimit, matchNotifyThreshold);
+        if (matches.isEmpty()) {
+            return;
+        }
+
+        // The index can briefly outlive a deleted reporter; notifying them would
+        // fail and roll back the new report, so skip and drop those entries.
+        Set<Long> liveReporters = new HashSet<>(userRepository.findExistingIds(
+                matches.stream().map(m -> m.report().reporterId()).collect(Collectors.toSet())));
+
+        for (ReportMatchIndex.Match match : matches) {
+            if (!liveReporters.contains(match.report().reporterId())) {
+                matchIndex.remove(match.report().id());
+                continue;
+            }
+            notificationService.createNotification(
+                    newReport.getReporter().getId(),
+                    "MATCH_FOUND",
+                    "A potential match for your "
+                            + (newReport.getStatus() == ReportStatus.MISSING ? "lost" : "found")
+                            + " pet was reported nearby!",
+                    newReport.getId(),
+                    match.report().reporterId());
+
+            notificationService.createNotification(
+                    match.report().reporterId(),
+                    "MATCH_FOUND",
+                    "A potential match for the pet you reported was just posted!",
+                    match.report().id(),
+                    newReport.getReporter().getId());
+        }
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double R = 6371; // KM
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReportMatchDto> getMatches(Long reportId, Integer limit) {
+        MissingPetReport report = reportRepository.findById(reportId)
+                .orElseThrow(() -> new RuntimeException("Report not found"));
+
+        int size = (limit == null || limit <= 0) ? reportPageSize : Math.min(limit, maxPageSize);
+        List<ReportMatchIndex.Match> matches = matchIndex.findMatches(report.getId(), report.getStatus(),
+                report.getSpecies(), report.getBreed(), report.getLatitude(), report.getLongitude(),
+                report.getCreatedAt(), size, 0);
+        if (matches.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, MissingPetReport> reportsById = reportRepository
+                .findAllWithReporterByIdIn(matches.stream().map(m -> m.report().id()).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(MissingPetReport::getId, Function.identity()));
+
+        return matches.stream()
+                .filter(m -> reportsById.containsKey(m.report().id()))
+                .map(m -> ReportMatchDto.builder()
+                        .report(modelMapper.map(reportsById.get(m.report().id()), MissingPetResponse.class))
+                        .score(Math.round(m.score() * 1000.0) / 1000.0)
+                        .distance(Math.round(m.distanceKm() * 100.0) / 100.0)
+                        .build())
+                .collect(Collectors.toList());
     }
 
     @Override
@@ -234,6 +285,7 @@ public class MissingPetServiceImpl implements MissingPetService {
 
         contactRepository.deleteByReportId(reportId);
         reportRepository.delete(report);
+        matchIndex.remove(reportId);
     }
 
 }
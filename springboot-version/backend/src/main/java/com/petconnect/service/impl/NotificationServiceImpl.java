@@ -1,27 +1,85 @@
 package com.petconnect.service.impl;
 
+import com.petconnect.dto.CursorPageDto;
+import com.petconnect.dto.NotificationDto;
 import com.petconnect.entity.Notification;
 import com.petconnect.entity.User;
+import com.petconnect.event.NotificationCreatedEvent;
 import com.petconnect.repository.NotificationRepository;
 import com.petconnect.repository.UserRepository;
 import com.petconnect.service.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationServiceImpl implements NotificationService {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationServiceImpl.class);
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
     private final org.modelmapper.ModelMapper modelMapper;
+    private final UnreadCounterCache unreadCounters;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationStreamRegistry streamRegistry;
+
+    @Value("${petconnect.app.notificationPageSize:20}")
+    private int notificationPageSize;
+
+    @Value("${petconnect.app.maxPageSize:50}")
+    private int maxPageSize;
+
+    @Value("${petconnect.app.notificationAggregateWindowMinutes:60}")
+    private long aggregateWindowMinutes;
 
     @Override
     @Transactional
     public void createNotification(Long userId, String type, String message, Long relatedPostId, Long senderId) {
-        System.out.println("🔔 Creating notification: type=" + type + ", userId=" + userId + ", senderId=" + senderId);
+        saveNotification(userId, type, message, relatedPostId, senderId);
+    }
+
+    @Override
+    @Transactional
+    public void createAggregatedNotification(Long userId, String type, String actorName, String action,
+            String detail, Long relatedPostId, Long senderId) {
+        LocalDateTime now = LocalDateTime.now();
+        Long targetId = notificationRepository
+                .findAggregationTarget(userId, type, relatedPostId, now.minusMinutes(aggregateWindowMinutes))
+                .orElse(null);
+        if (targetId == null) {
+            Notification saved = saveNotification(userId, type,
+                    actorName + " " + action + (detail != null ? ": " + detail : "."), relatedPostId, senderId);
+            notificationRepository.addActor(saved.getId(), senderId);
+            return;
+        }
+
+        if (notificationRepository.addActor(targetId, senderId) == 0) {
+            // Same person again (e.g. unlike then like); they are already counted
+            return;
+        }
+        notificationRepository.refreshAggregate(targetId, senderId, actorName, action, now);
+
+        // Still unread, so the badge count is unchanged; only push the refreshed row to open streams
+        if (streamRegistry.isConnected(userId)) {
+            notificationRepository.findById(targetId)
+                    .ifPresent(n -> eventPublisher.publishEvent(
+                            new NotificationCreatedEvent(userId, mapToNotificationDto(n))));
+        }
+    }
 
+    private Notification saveNotification(Long userId, String type, String message, Long relatedPostId,
+            Long senderId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
@@ -34,7 +92,10 @@ public class NotificationServiceImpl implements NotificationService {
         notification.setRead(false);
 
         Notification saved = notificationRepository.save(notification);
-        System.out.println("✅ Notification saved with ID: " + saved.getId());
+        unreadCounters.increment(userId, 1);
+        eventPublisher.publishEvent(new NotificationCreatedEvent(userId, mapToNotificationDto(saved)));
+        logger.debug("Notification {} of type {} saved for user {} (sender {})", saved.getId(), type, userId, senderId);
+        return saved;
     }
 
     @Override
@@ -44,20 +105,80 @@ public class NotificationServiceImpl implements NotificationService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    @Override
+    public CursorPageDto<NotificationDto> getNotificationsPage(Long userId, LocalDateTime cursorCreatedAt,
+            Long cursorId, Integer size) {
+        int pageSize = (size == null || size <= 0) ? notificationPageSize : Math.min(size, maxPageSize);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Notification> page = (cursorCreatedAt == null || cursorId == null)
+                ? notificationRepository.findPage(userId, pageable)
+                : notificationRepository.findPageAfter(userId, cursorCreatedAt, cursorId, pageable);
+
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        Notification last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageDto.<NotificationDto>builder()
+                .items(page.stream()
+                        .map(this::mapToNotificationDto)
+                        .collect(Collectors.toList()))
+                .nextCursorCreatedAt(hasMore ? last.getCreatedAt() : null)
+                .nextCursorId(hasMore ? last.getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Override
+    public long getUnreadCount(Long userId) {
+        return unreadCounters.get(userId);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId, Long lastEventId) {
+        return streamRegistry.subscribe(userId, lastEventId);
+    }
+
     @Override
     @Transactional
     public void markAsRead(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
-        notification.setRead(true);
-        notificationRepository.save(notification);
+        if (!notification.isRead()) {
+            notification.setRead(true);
+            notificationRepository.save(notification);
+            unreadCounters.decrement(notification.getUser().getId(), 1);
+        }
     }
 
     @Override
     @Transactional
-    public void markAllAsRead(Long userId) {
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        notifications.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(notifications);
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllRead(userId);
+        unreadCounters.reset(userId);
+        return updated;
+    }
+
+    @Override
+    @Transactional
+    public int markAsReadUpTo(Long userId, LocalDateTime cursorCreatedAt, Long cursorId) {
+        int updated = notificationRepository.markReadUpTo(userId, cursorCreatedAt, cursorId);
+        unreadCounters.decrement(userId, updated);
+        return updated;
+    }
+
+    private NotificationDto mapToNotificationDto(Notification notification) {
+        return NotificationDto.builder()
+                .id(notification.getId())
+                .type(notification.getType())
+                .message(notification.getMessage())
+                .isRead(notification.isRead())
+                .relatedPostId(notification.getRelatedPostId())
+                .senderId(notification.getSenderId())
+                .aggregateCount(notification.getAggregateCount())
+                .createdAt(notification.getCreatedAt())
+                .updatedAt(notification.getUpdatedAt())
+                .build();
     }
 }
@@ -0,0 +1,159 @@
+package com.petconnect.service.impl;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.petconnect.dto.NotificationDto;
+import com.petconnect.event.NotificationCreatedEvent;
+
+/**
+ * In-process SSE fan-out for notifications. Each user with an open stream has
+ * a sequence counter and a small replay buffer, so a client reconnecting with
+ * Last-Event-ID gets what it missed instead of re-reading the inbox. Sequence
+ * numbers are per process; after a restart clients simply start over.
+ */
+@Component
+public class NotificationStreamRegistry {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationStreamRegistry.class);
+
+    static final String EVENT_NAME = "notification";
+
+    @Value("${petconnect.app.notificationStream.timeoutMs:1800000}")
+    private long timeoutMs;
+
+    @Value("${petconnect.app.notificationStream.replaySize:50}")
+    private int replaySize;
+
+    // How long a user's replay buffer outlives their last open stream
+    @Value("${petconnect.app.notificationStream.idleRetentionMs:300000}")
+    private long idleRetentionMs;
+
+    private final Map<Long, UserStream> streams = new ConcurrentHashMap<>();
+
+    private record Buffered(long sequence, NotificationDto notification) {
+    }
+
+    private static class UserStream {
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final Deque<Buffered> replay = new ArrayDeque<>();
+        long sequence;
+        volatile long lastDetachedAt = System.currentTimeMillis();
+    }
+
+    public SseEmitter subscribe(long userId, Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        UserStream stream = streams.computeIfAbsent(userId, id -> new UserStream());
+
+        List<Buffered> missed = new ArrayList<>();
+        synchronized (stream) {
+            if (lastEventId != null && lastEventId <= stream.sequence) {
+                for (Buffered buffered : stream.replay) {
+                    if (buffered.sequence() > lastEventId) {
+                        missed.add(buffered);
+                    }
+                }
+            }
+            stream.emitters.add(emitter);
+        }
+
+        Runnable detach = () -> {
+            stream.emitters.remove(emitter);
+            if (stream.emitters.isEmpty()) {
+                stream.lastDetachedAt = System.currentTimeMillis();
+            }
+        };
+        emitter.onCompletion(detach);
+        emitter.onTimeout(detach);
+        emitter.onError(e -> detach.run());
+
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+            for (Buffered buffered : missed) {
+                emitter.send(toEvent(buffered));
+            }
+        } catch (IOException | IllegalStateException e) {
+            detach.run();
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    public boolean isConnected(long userId) {
+        UserStream stream = streams.get(userId);
+        return stream != null && !stream.emitters.isEmpty();
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationCreated(NotificationCreatedEvent event) {
+        UserStream stream = streams.get(event.userId());
+        if (stream == null) {
+            return;
+        }
+
+        Buffered buffered;
+        synchronized (stream) {
+            buffered = new Buffered(++stream.sequence, event.notification());
+            stream.replay.addLast(buffered);
+            while (stream.replay.size() > replaySize) {
+                stream.replay.removeFirst();
+            }
+        }
+        for (SseEmitter emitter : stream.emitters) {
+            send(stream, emitter, buffered);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${petconnect.app.notificationStream.heartbeatMs:15000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        streams.forEach((userId, stream) -> {
+            if (stream.emitters.isEmpty()) {
+                if (now - stream.lastDetachedAt > idleRetentionMs) {
+                    streams.remove(userId, stream);
+                }
+                return;
+            }
+            for (SseEmitter emitter : stream.emitters) {
+                try {
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                } catch (IOException | IllegalStateException e) {
+                    stream.emitters.remove(emitter);
+                    emitter.completeWithError(e);
+                }
+            }
+        });
+    }
+
+    private void send(UserStream stream, SseEmitter emitter, Buffered buffered) {
+        try {
+            emitter.send(toEvent(buffered));
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping notification stream after failed send", e);
+            stream.emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(Buffered buffered) {
+        return SseEmitter.event()
+                .id(Long.toString(buffered.sequence()))
+                .name(EVENT_NAME)
+                .data(buffered.notification());
+    }
+}
@@ -6,24 +6,35 @@ import com.petconnect.entity.*;
 import com.petconnect.repository.*;
 import com.petconnect.service.CartService;
 import com.petconnect.service.OrderService;
-import com.petconnect.service.ProductService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class OrderServiceImpl implements OrderService {
+    // MySQL applies SET left to right, so is_available sees the new quantity
+    private static final String RESERVE_STOCK = """
+            UPDATE products
+            SET quantity = quantity - ?, is_available = (quantity > 0)
+            WHERE id = ? AND quantity >= ?
+            """;
+
     private final OrderRepository orderRepository;
     private final CartRepository cartRepository;
     private final CartService cartService;
-    private final ProductService productService;
     private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
 
     @Override
     @Transactional
@@ -43,12 +54,11 @@ public class OrderServiceImpl implements OrderService {
                 transactionId != null && !transactionId.isEmpty() ? Order.OrderStatus.PAID : Order.OrderStatus.PENDING);
         order.setCreatedAt(LocalDateTime.now());
 
+        reserveStock(cartItems);
+
         BigDecimal total = BigDecimal.ZERO;
         for (CartItem item : cartItems) {
             Product product = item.getProduct();
-            if (product.getQuantity() < item.getQuantity()) {
-                throw new RuntimeException("Insufficient stock for " + product.getName());
-            }
 
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
@@ -60,9 +70,6 @@ public class OrderServiceImpl implements OrderService {
 
             BigDecimal itemTotal = product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
             total = total.add(itemTotal);
-
-            // Reduce stock
-            productService.updateStock(product.getId(), -item.getQuantity());
         }
 
         order.setTotalPrice(total);
@@ -74,6 +81,36 @@ public class OrderServiceImpl implements OrderService {
         return mapToOrderDto(savedOrder);
     }
 
+    /**
+     * Decrements stock for every cart line with one conditional UPDATE each,
+     * sent as a single JDBC batch. A line that matches no row did not have
+     * enough stock; throwing rolls back the lines already applied, so the
+     * order either gets all of its stock or none of it.
+     */
+    private void reserveStock(List<CartItem> cartItems) {
+        // One row per product, in id order so concurrent checkouts lock rows in the same order
+        Map<Long, Integer> quantities = new TreeMap<>();
+        Map<Long, String> names = new HashMap<>();
+        for (CartItem item : cartItems) {
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
+            names.put(item.getProduct().getId(), item.getProduct().getName());
+        }
+
+        List<Object[]> args = new ArrayList<>(quantities.size());
+        List<Long> productIds = new ArrayList<>(quantities.keySet());
+        for (Long productId : productIds) {
+            int quantity = quantities.get(productId);
+            args.add(new Object[] { quantity, productId, quantity });
+        }
+
+        int[] updated = jdbcTemplate.batchUpdate(RESERVE_STOCK, args);
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                throw new RuntimeException("Insufficient stock for " + names.get(productIds.get(i)));
+            }
+        }
+    }
+
     @Override
     public List<OrderDto> getUserOrders(Long userId) {
         return orderRepository.findByUserId(userId).stream()
@@ -1,54 +1,69 @@
 package com.petconnect.service.impl;
 
 import com.petconnect.service.OtpService;
+import com.petconnect.service.OtpStore;
+import com.petconnect.service.OtpStore.OtpEntry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
 import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.Random;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Service
+@RequiredArgsConstructor
 public class OtpServiceImpl implements OtpService {
-    private final Map<String, OtpData> otpMap = new ConcurrentHashMap<>();
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OtpStore otpStore;
+
+    @Value("${petconnect.app.otp.ttlMinutes:5}")
+    private int ttlMinutes;
+
+    @Value("${petconnect.app.otp.maxAttempts:5}")
+    private int maxAttempts;
 
     @Override
     public String generateOtp(String email) {
-        String otp = String.format("%06d", new Random().nextInt(999999));
-        otpMap.put(email, new OtpData(otp, LocalDateTime.now().plusMinutes(5)));
+        String otp = String.format("%06d", RANDOM.nextInt(1_000_000));
+        long expiresAtNanos = System.nanoTime() + TimeUnit.MINUTES.toNanos(ttlMinutes);
+        otpStore.save(email, new OtpEntry(otp, expiresAtNanos, LocalDateTime.now().plusMinutes(ttlMinutes)));
         return otp;
     }
 
     @Override
     public boolean verifyOtp(String email, String otp) {
-        OtpData data = otpMap.get(email);
-        if (data == null)
+        Optional<OtpEntry> found = otpStore.find(email);
+        if (found.isEmpty() || otp == null)
             return false;
 
-        if (data.expiry.isBefore(LocalDateTime.now())) {
-            otpMap.remove(email);
+        OtpEntry data = found.get();
+        if (data.isExpired(System.nanoTime())) {
+            otpStore.remove(email, data);
             return false;
         }
 
-        if (data.otp.equals(otp)) {
-            otpMap.remove(email);
+        // Constant-time compare so response timing does not leak matching digits
+        if (MessageDigest.isEqual(data.otp().getBytes(StandardCharsets.UTF_8), otp.getBytes(StandardCharsets.UTF_8))) {
+            otpStore.remove(email, data);
             return true;
         }
+
+        // Too many wrong guesses burns the code; the user has to log in again
+        if (otpStore.recordFailedAttempt(email) >= maxAttempts) {
+            otpStore.remove(email, data);
+        }
         return false;
     }
 
     @Override
     public LocalDateTime getExpiry(String email) {
-        OtpData data = otpMap.get(email);
-        return data != null ? data.expiry : null;
-    }
-
-    private static class OtpData {
-        String otp;
-        LocalDateTime expiry;
-
-        OtpData(String otp, LocalDateTime expiry) {
-            this.otp = otp;
-            this.expiry = expiry;
-        }
+        return otpStore.find(email)
+                .filter(data -> !data.isExpired(System.nanoTime()))
+                .map(OtpEntry::expiresAt)
+                .orElse(null);
     }
 }
@@ -7,6 +7,7 @@ import com.petconnect.entity.User;
 import com.petconnect.repository.PetRepository;
 import com.petconnect.repository.UserRepository;
 import com.petconnect.service.PetService;
+import com.petconnect.service.SuggestionService;
 import lombok.RequiredArgsConstructor;
 
 import org.modelmapper.ModelMapper;
@@ -20,6 +21,7 @@ public class PetServiceImpl implements PetService {
     private final PetRepository petRepository;
     private final UserRepository userRepository;
     private final ModelMapper mapper;
+    private final SuggestionService suggestionService;
 
     @Override
     public PetDto registerPet(PetCreateDto petDto, Long userId) {
@@ -27,7 +29,9 @@ public class PetServiceImpl implements PetService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         Pet pet=mapper.map(petDto, Pet.class);
         pet.setUser(user);
-        return mapToPetDto(petRepository.save(pet));
+        PetDto saved = mapToPetDto(petRepository.save(pet));
+        suggestionService.refreshSpecies(userId);
+        return saved;
     }
 
     @Override
@@ -62,12 +66,17 @@ public class PetServiceImpl implements PetService {
         pet.setBreed(petData.getBreed());
         pet.setAge(petData.getAge());
         pet.setImageUrl(petData.getImageUrl());
-        return mapToPetDto(petRepository.save(pet));
+        PetDto saved = mapToPetDto(petRepository.save(pet));
+        suggestionService.refreshSpecies(saved.getUserId());
+        return saved;
     }
 
     @Override
     public void deletePet(Long petId) {
-        petRepository.deleteById(petId);
+        Pet pet = getPetEntity(petId);
+        Long ownerId = pet.getUser().getId();
+        petRepository.delete(pet);
+        suggestionService.refreshSpecies(ownerId);
     }
 
     @Override
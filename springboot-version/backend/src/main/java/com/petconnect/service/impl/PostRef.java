@@ -0,0 +1,21 @@
+package com.petconnect.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Lightweight (createdAt, id) handle used to merge feed sources in keyset order.
+ */
+record PostRef(Long postId, LocalDateTime createdAt) {
+    static final Comparator<PostRef> NEWEST_FIRST = Comparator.comparing(PostRef::createdAt)
+            .thenComparing(PostRef::postId)
+            .reversed();
+
+    boolean isAfter(LocalDateTime cursorCreatedAt, Long cursorId) {
+        if (cursorCreatedAt == null || cursorId == null) {
+            return true;
+        }
+        int cmp = createdAt.compareTo(cursorCreatedAt);
+        return cmp < 0 || (cmp == 0 && postId < cursorId);
+    }
+}
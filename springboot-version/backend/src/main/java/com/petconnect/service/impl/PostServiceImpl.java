@@ -1,23 +1,36 @@
 package com.petconnect.service.impl;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.petconnect.dto.CommentDto;
+import com.petconnect.dto.CursorPageDto;
 import com.petconnect.dto.PostCreateUpdateRequestDto;
 import com.petconnect.dto.PostDto;
 import com.petconnect.entity.Comment;
 import com.petconnect.entity.Post;
-import com.petconnect.entity.PostLike;
 import com.petconnect.entity.User;
+import com.petconnect.event.PostChangedEvent;
 import com.petconnect.repository.CommentRepository;
 import com.petconnect.repository.PostLikeRepository;
 import com.petconnect.repository.PostRepository;
 import com.petconnect.repository.UserRepository;
+import com.petconnect.service.ConnectionGraphService;
 import com.petconnect.service.NotificationService;
 import com.petconnect.service.PostService;
+import com.petconnect.service.TimelineService;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,6 +42,22 @@ public class PostServiceImpl implements PostService {
     private final PostLikeRepository postLikeRepository;
     private final CommentRepository commentRepository;
     private final NotificationService notificationService;
+    private final LikeWriteBuffer likeBuffer;
+    private final TimelineService timelineService;
+    private final ConnectionGraphService connectionGraph;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${petconnect.app.feedPageSize:20}")
+    private int feedPageSize;
+
+    @Value("${petconnect.app.commentPageSize:20}")
+    private int commentPageSize;
+
+    @Value("${petconnect.app.maxPageSize:50}")
+    private int maxPageSize;
+
+    @Value("${petconnect.app.feedCommentPreviewSize:3}")
+    private int commentPreviewSize;
 
     @Override
     public PostDto createPost(PostCreateUpdateRequestDto postCreateDto, Long userId) {
@@ -41,19 +70,21 @@ public class PostServiceImpl implements PostService {
         post.setImageUrl(postCreateDto.getImageUrl());
         post.setVisibility(postCreateDto.getVisibility());
         post.setUser(user);
-        return mapToPostDto(postRepository.save(post));
+        Post saved = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getId(), userId, saved.getCreatedAt(),
+                saved.getVisibility(), false));
+        return mapToPostDto(saved);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<PostDto> getAllPosts(Long userId) {
         User user = userRepository.findById(userId).orElseThrow(() -> new RuntimeException("User not found"));
-        List<PostDto> posts = postRepository.findByUser(user).stream()
-                .map(this::mapToPostDto)
-                .collect(Collectors.toList());
-        return posts;
+        return mapToPostDtos(postRepository.findByUser(user));
     }
 
     @Override
+    @Transactional(readOnly = true)
     public PostDto getPost(Long id) {
         return mapToPostDto(getPostEntity(id));
     }
@@ -64,14 +95,67 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    public List<PostDto> getFeed(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostDto> getFeed(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, Integer size) {
+        int pageSize = resolvePageSize(size, feedPageSize);
+        List<Post> page;
+        boolean hasMore;
+
+        if (timelineService.isEnabled()) {
+            // Precomputed timeline merged with the cached PUBLIC stream; stale ids are
+            // already skipped and refilled there, so the extra id still means another page
+            List<Long> ids = timelineService.getFeedPostIds(userId, cursorCreatedAt, cursorId, pageSize + 1);
+            hasMore = ids.size() > pageSize;
+            page = findPostsInOrder(hasMore ? ids.subList(0, pageSize) : ids);
+        } else {
+            if (!userRepository.existsById(userId)) {
+                throw new RuntimeException("User not found");
+            }
+            // The user's own id keeps the IN list non-empty; own posts match anyway
+            List<Long> connectionIds = new ArrayList<>();
+            connectionIds.add(userId);
+            for (long id : connectionGraph.getConnectionIds(userId)) {
+                connectionIds.add(id);
+            }
+
+            // Fetch one extra row to know whether another page exists without a count query
+            Pageable pageable = PageRequest.of(0, pageSize + 1);
+            page = (cursorCreatedAt == null || cursorId == null)
+                    ? postRepository.findFeedFirstPage(userId, connectionIds, pageable)
+                    : postRepository.findFeedPageAfter(userId, connectionIds, cursorCreatedAt, cursorId, pageable);
+            hasMore = page.size() > pageSize;
+            if (hasMore) {
+                page = page.subList(0, pageSize);
+            }
+        }
+        Post last = page.isEmpty() ? null : page.get(page.size() - 1);
 
-        List<PostDto> posts = postRepository.findFeedWithConnections(user).stream()
-                .map(this::mapToPostDto)
+        return CursorPageDto.<PostDto>builder()
+                .items(mapToPostDtos(page))
+                .nextCursorCreatedAt(hasMore && last != null ? last.getCreatedAt() : null)
+                .nextCursorId(hasMore && last != null ? last.getId() : null)
+                .hasMore(hasMore && last != null)
+                .build();
+    }
+
+    // Loads posts by id keeping the given order; ids of posts deleted meanwhile are skipped
+    private List<Post> findPostsInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Post> byId = postRepository.findAllWithUserByIdIn(ids).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
                 .collect(Collectors.toList());
-        return posts;
+    }
+
+    private int resolvePageSize(Integer size, int defaultSize) {
+        if (size == null || size <= 0) {
+            return defaultSize;
+        }
+        return Math.min(size, maxPageSize);
     }
 
     @Override
@@ -80,12 +164,18 @@ public class PostServiceImpl implements PostService {
         if (!post.getUser().getId().equals(userId)) {
             throw new RuntimeException("Unauthorized to update this post");
         }
+        Post.Visibility previousVisibility = post.getVisibility();
         post.setTitle(postUpdateDto.getTitle());
         post.setDescription(postUpdateDto.getDescription());
         post.setImageUrl(postUpdateDto.getImageUrl());
         post.setVisibility(postUpdateDto.getVisibility());
 
-        return mapToPostDto(postRepository.save(post));
+        Post saved = postRepository.save(post);
+        if (saved.getVisibility() != previousVisibility) {
+            eventPublisher.publishEvent(new PostChangedEvent(saved.getId(), userId, saved.getCreatedAt(),
+                    saved.getVisibility(), false));
+        }
+        return mapToPostDto(saved);
     }
 
     @Override
@@ -95,38 +185,39 @@ public class PostServiceImpl implements PostService {
             throw new RuntimeException("Unauthorized to delete this post");
         }
         postRepository.delete(post);
+        eventPublisher.publishEvent(new PostChangedEvent(post.getId(), userId, post.getCreatedAt(),
+                post.getVisibility(), true));
     }
 
     @Override
     public void toggleLike(Long postId, Long userId) {
-        Post post = getPostEntity(postId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        Long ownerId = postRepository.findOwnerIdById(postId)
+                .orElseThrow(() -> new RuntimeException("Post not found"));
+        if (!likeBuffer.isBuffered(postId, userId) && !userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        if (postLikeRepository.existsByPostAndUser(post, user)) {
-            // Unlike
-        	postLikeRepository.findByPostAndUser(post, user)
-            		.ifPresent(postLikeRepository::delete);
-        } else {
-            // Like
-            PostLike like = new PostLike();
-            like.setPost(post);
-            like.setUser(user);
-            postLikeRepository.save(like);
-
-            // Trigger Notification
-            if (!post.getUser().getId().equals(userId)) {
-                notificationService.createNotification(
-                        post.getUser().getId(),
-                        "LIKE",
-                        user.getUsername() + " liked your post.",
-                        postId,
-                        userId);
-            }
+        // Buffered and flushed in batches by LikeWriteBuffer; repeated taps collapse
+        boolean newLike = likeBuffer.toggle(postId, userId,
+                () -> postLikeRepository.existsByPostIdAndUserId(postId, userId));
+
+        // Trigger Notification
+        if (newLike && !ownerId.equals(userId)) {
+            String username = userRepository.findUsernameById(userId)
+                    .orElseThrow(() -> new RuntimeException("User not found"));
+            notificationService.createAggregatedNotification(
+                    ownerId,
+                    "LIKE",
+                    username,
+                    "liked your post",
+                    null,
+                    postId,
+                    userId);
         }
     }
 
     @Override
+    @Transactional
     public CommentDto addComment(Long postId, Long userId, String content) {
         Post post = getPostEntity(postId);
         User user = userRepository.findById(userId)
@@ -137,13 +228,16 @@ public class PostServiceImpl implements PostService {
         comment.setUser(user);
         comment.setContent(content);
         Comment savedComment = commentRepository.save(comment);
+        postRepository.adjustCommentsCount(postId, 1);
 
         // Trigger Notification
         if (!post.getUser().getId().equals(userId)) {
-            notificationService.createNotification(
+            notificationService.createAggregatedNotification(
                     post.getUser().getId(),
                     "COMMENT",
-                    user.getUsername() + " commented on your post: " + content,
+                    user.getUsername(),
+                    "commented on your post",
+                    content,
                     postId,
                     userId);
         }
@@ -156,37 +250,85 @@ public class PostServiceImpl implements PostService {
     }
 
     @Override
-    public List<CommentDto> getCommentsDto(Long postId) {
-        return commentRepository.findByPostId(postId).stream()
-                .map(this::mapToCommentDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<CommentDto> getCommentsPage(Long postId, LocalDateTime cursorCreatedAt, Long cursorId,
+            Integer size) {
+        if (!postRepository.existsById(postId)) {
+            throw new RuntimeException("Post not found");
+        }
+
+        int pageSize = resolvePageSize(size, commentPageSize);
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+        List<Comment> page = (cursorCreatedAt == null || cursorId == null)
+                ? commentRepository.findPageByPostId(postId, pageable)
+                : commentRepository.findPageByPostIdAfter(postId, cursorCreatedAt, cursorId, pageable);
+
+        boolean hasMore = page.size() > pageSize;
+        if (hasMore) {
+            page = page.subList(0, pageSize);
+        }
+        Comment last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageDto.<CommentDto>builder()
+                .items(page.stream()
+                        .map(this::mapToCommentDto)
+                        .collect(Collectors.toList()))
+                .nextCursorCreatedAt(hasMore ? last.getCreatedAt() : null)
+                .nextCursorId(hasMore ? last.getId() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
     @Override
     public boolean isLiked(Long postId, Long userId) {
-        Post post = getPostEntity(postId);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        return postLikeRepository.existsByPostAndUser(post, user);
+        return likeBuffer.isLiked(postId, userId,
+                () -> postLikeRepository.existsByPostIdAndUserId(postId, userId));
     }
 
     @Override
     public PostDto mapToPostDto(Post post) {
-        return PostDto.builder()
-                .postId(post.getId())
-                .title(post.getTitle())
-                .description(post.getDescription())
-                .imageUrl(post.getImageUrl())
-                .visibility(post.getVisibility().name())
-                .createdAt(post.getCreatedAt())
-                .userId(post.getUser().getId())
-                .userFullName(post.getUser().getFullName())
-                .userProfileImageUrl(post.getUser().getImageUrl())
-                .likesCount(postLikeRepository.countByPost(post))
-                .comments(commentRepository.findByPostId(post.getId()).stream()
+        return mapToPostDtos(List.of(post)).get(0);
+    }
+
+    // Assembles DTOs for a whole page in a fixed number of queries: counters come
+    // from the denormalized columns and only the latest few comments per post
+    // (with authors) are fetched, however long the threads are.
+    // Callers should be transactional so comment.getPost() resolves from the
+    // persistence context instead of reloading each post.
+    @Override
+    public List<PostDto> mapToPostDtos(List<Post> posts) {
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        List<Long> postIds = posts.stream()
+                .map(Post::getId)
+                .collect(Collectors.toList());
+
+        Map<Long, Integer> pendingLikes = likeBuffer.pendingDeltas(postIds);
+        List<Long> previewIds = commentPreviewSize > 0
+                ? commentRepository.findLatestIdsByPostIds(postIds, commentPreviewSize)
+                : List.of();
+        Map<Long, List<CommentDto>> commentsByPost = previewIds.isEmpty()
+                ? Map.of()
+                : commentRepository.findByIdInWithUser(previewIds).stream()
                         .map(this::mapToCommentDto)
-                        .collect(Collectors.toList()))
-                .build();
+                        .collect(Collectors.groupingBy(CommentDto::getPostId));
+
+        return posts.stream()
+                .map(post -> PostDto.builder()
+                        .postId(post.getId())
+                        .title(post.getTitle())
+                        .description(post.getDescription())
+                        .imageUrl(post.getImageUrl())
+                        .visibility(post.getVisibility().name())
+                        .createdAt(post.getCreatedAt())
+                        .userId(post.getUser().getId())
+                        .userFullName(post.getUser().getFullName())
+                        .userProfileImageUrl(post.getUser().getImageUrl())
+                        .likesCount(post.getLikesCount() + pendingLikes.getOrDefault(post.getId(), 0))
+                        .commentsCount(post.getCommentsCount())
+                        .comments(commentsByPost.getOrDefault(post.getId(), List.of()))
+                        .build())
+                .collect(Collectors.toList());
     }
 
     @Override
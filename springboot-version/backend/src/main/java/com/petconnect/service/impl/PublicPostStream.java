@@ -0,0 +1,107 @@
+package com.petconnect.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.petconnect.repository.PostRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Cached stream of the newest PUBLIC posts shared by every user's feed when the
+ * precomputed timeline is enabled. The snapshot is refreshed from the database
+ * on an interval (so posts from other nodes show up) and patched locally as
+ * posts are created or removed on this node.
+ */
+@Component
+@RequiredArgsConstructor
+public class PublicPostStream {
+    private final PostRepository postRepository;
+
+    @Value("${petconnect.app.timeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${petconnect.app.timeline.publicStreamSize:1000}")
+    private int capacity;
+
+    // Newest first; contains every PUBLIC post newer than its last element
+    private volatile List<PostRef> snapshot = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${petconnect.app.timeline.publicStreamRefreshMs:5000}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        snapshot = toRefs(postRepository.findPublicRefs(PageRequest.of(0, capacity)));
+    }
+
+    public synchronized void add(PostRef ref) {
+        List<PostRef> updated = new ArrayList<>(snapshot.size() + 1);
+        updated.addAll(snapshot);
+        updated.removeIf(existing -> existing.postId().equals(ref.postId()));
+        updated.add(ref);
+        updated.sort(PostRef.NEWEST_FIRST);
+        if (updated.size() > capacity) {
+            updated = updated.subList(0, capacity);
+        }
+        snapshot = List.copyOf(updated);
+    }
+
+    public synchronized void remove(Long postId) {
+        List<PostRef> updated = new ArrayList<>(snapshot);
+        if (updated.removeIf(existing -> existing.postId().equals(postId))) {
+            snapshot = List.copyOf(updated);
+        }
+    }
+
+    public List<PostRef> page(LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        List<PostRef> current = snapshot;
+        int from = firstAfter(current, cursorCreatedAt, cursorId);
+        if (current.size() - from >= limit || current.size() < capacity) {
+            // Either the page is fully cached or the snapshot holds every public post
+            return current.subList(from, Math.min(current.size(), from + limit));
+        }
+
+        // Paging past the cached window: read straight from idx_posts_created_at_id
+        PageRequest pageable = PageRequest.of(0, limit);
+        return toRefs(cursorCreatedAt == null || cursorId == null
+                ? postRepository.findPublicRefs(pageable)
+                : postRepository.findPublicRefsAfter(cursorCreatedAt, cursorId, pageable));
+    }
+
+    // Binary search for the first ref strictly after the cursor in keyset order
+    private int firstAfter(List<PostRef> refs, LocalDateTime cursorCreatedAt, Long cursorId) {
+        int low = 0;
+        int high = refs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (refs.get(mid).isAfter(cursorCreatedAt, cursorId)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private List<PostRef> toRefs(List<Object[]> rows) {
+        List<PostRef> refs = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            refs.add(new PostRef((Long) row[0], (LocalDateTime) row[1]));
+        }
+        return List.copyOf(refs);
+    }
+}
@@ -0,0 +1,248 @@
+package com.petconnect.service.impl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.petconnect.entity.MissingPetReport;
+import com.petconnect.entity.MissingPetReport.ReportStatus;
+import com.petconnect.repository.MissingPetReportRepository;
+import com.petconnect.util.GeoUtils;
+import com.petconnect.util.TransactionUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Open (MISSING / FOUND) reports bucketed by status, normalized species and
+ * lat/long grid cell. A match lookup only visits the opposite-status bucket
+ * for the same species and the cells around the report, then scores each
+ * candidate on breed similarity, distance and age.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReportMatchIndex {
+    private static final Logger logger = LoggerFactory.getLogger(ReportMatchIndex.class);
+
+    private static final double BREED_WEIGHT = 0.5;
+    private static final double DISTANCE_WEIGHT = 0.3;
+    private static final double RECENCY_WEIGHT = 0.2;
+    // Breed score used when either side did not give a breed
+    private static final double UNKNOWN_BREED_SCORE = 0.5;
+    // Age in days at which the recency score halves
+    private static final double RECENCY_HALF_DAYS = 14;
+
+    private final MissingPetReportRepository reportRepository;
+
+    @Value("${petconnect.app.matchCellDegrees:0.1}")
+    private double cellDegrees;
+
+    @Value("${petconnect.app.matchRadiusKm:10}")
+    private double radiusKm;
+
+    private final Map<Long, IndexedReport> reports = new ConcurrentHashMap<>();
+    private final Map<BucketKey, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    public record IndexedReport(long id, long reporterId, ReportStatus status, String species, String breed,
+            double latitude, double longitude, LocalDateTime createdAt) {
+    }
+
+    public record Match(IndexedReport report, double score, double distanceKm) {
+    }
+
+    private record BucketKey(ReportStatus status, String species, long cell) {
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        for (Object[] row : reportRepository.findOpenReportRefs()) {
+            index(new IndexedReport((Long) row[0], (Long) row[1], (ReportStatus) row[2], normalize((String) row[3]),
+                    normalize((String) row[4]), (Double) row[5], (Double) row[6], (LocalDateTime) row[7]));
+        }
+        logger.info("Report match index loaded with {} open reports", reports.size());
+    }
+
+    /** Indexes the report once the surrounding transaction commits. */
+    public void add(MissingPetReport report) {
+        if (report.getStatus() == ReportStatus.REUNITED) {
+            remove(report.getId());
+            return;
+        }
+        IndexedReport indexed = new IndexedReport(report.getId(), report.getReporter().getId(), report.getStatus(),
+                normalize(report.getSpecies()), normalize(report.getBreed()), report.getLatitude(),
+                report.getLongitude(), report.getCreatedAt() != null ? report.getCreatedAt() : LocalDateTime.now());
+        TransactionUtils.afterCommit(() -> index(indexed));
+    }
+
+    public void remove(long reportId) {
+        TransactionUtils.afterCommit(() -> unindex(reportId));
+    }
+
+    /** Drops every report filed by the user; their rows go with the user through ON DELETE CASCADE. */
+    public void removeByReporter(long reporterId) {
+        TransactionUtils.afterCommit(() -> unindexReporter(reporterId));
+    }
+
+    /**
+     * Best candidates of the opposite status for the given report, best first.
+     * Candidates below {@code minScore} are dropped.
+     */
+    public List<Match> findMatches(long reportId, ReportStatus status, String species, String breed,
+            double lat, double lon, LocalDateTime createdAt, int limit, double minScore) {
+        if (status == ReportStatus.REUNITED || limit <= 0) {
+            return List.of();
+        }
+        ReportStatus lookFor = status == ReportStatus.MISSING ? ReportStatus.FOUND : ReportStatus.MISSING;
+        String normalizedSpecies = normalize(species);
+        String normalizedBreed = normalize(breed);
+        LocalDateTime reference = createdAt != null ? createdAt : LocalDateTime.now();
+
+        long minLatCell = cellIndex(Math.max(-90, lat - GeoUtils.latDelta(radiusKm)));
+        long maxLatCell = cellIndex(Math.min(90, lat + GeoUtils.latDelta(radiusKm)));
+        // Two ranges when the search area crosses the antimeridian
+        double[][] lonRanges = GeoUtils.lonRanges(lon, GeoUtils.lonDelta(lat, radiusKm));
+
+        PriorityQueue<Match> top = new PriorityQueue<>(Comparator.comparingDouble(Match::score));
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (double[] range : lonRanges) {
+                for (long lonCell = cellIndex(range[0]); lonCell <= cellIndex(range[1]); lonCell++) {
+                    Set<Long> ids = buckets.get(new BucketKey(lookFor, normalizedSpecies, key(latCell, lonCell)));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        IndexedReport candidate = reports.get(id);
+                        if (candidate == null || candidate.id() == reportId) {
+                            continue;
+                        }
+                        double distance = GeoUtils.haversineKm(lat, lon, candidate.latitude(), candidate.longitude());
+                        if (distance > radiusKm) {
+                            continue;
+                        }
+                        double score = BREED_WEIGHT * breedSimilarity(normalizedBreed, candidate.breed())
+                                + DISTANCE_WEIGHT * (1 - distance / radiusKm)
+                                + RECENCY_WEIGHT * recency(reference, candidate.createdAt());
+                        if (score < minScore) {
+                            continue;
+                        }
+                        top.offer(new Match(candidate, score, distance));
+                        if (top.size() > limit) {
+                            top.poll();
+                        }
+                    }
+                }
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingDouble(Match::score).reversed());
+        return ranked;
+    }
+
+    private synchronized void index(IndexedReport report) {
+        unindex(report.id());
+        reports.put(report.id(), report);
+        buckets.computeIfAbsent(bucketOf(report), k -> ConcurrentHashMap.newKeySet()).add(report.id());
+    }
+
+    private synchronized void unindexReporter(long reporterId) {
+        List<Long> ids = new ArrayList<>();
+        for (IndexedReport report : reports.values()) {
+            if (report.reporterId() == reporterId) {
+                ids.add(report.id());
+            }
+        }
+        ids.forEach(this::unindex);
+    }
+
+    private synchronized void unindex(long reportId) {
+        IndexedReport previous = reports.remove(reportId);
+        if (previous != null) {
+            buckets.computeIfPresent(bucketOf(previous), (k, ids) -> {
+                ids.remove(reportId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    private BucketKey bucketOf(IndexedReport report) {
+        return new BucketKey(report.status(), report.species(), key(cellIndex(report.latitude()),
+                cellIndex(report.longitude())));
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(long latCell, long lonCell) {
+        return (latCell << 32) | (lonCell & 0xffffffffL);
+    }
+
+    private static double recency(LocalDateTime reference, LocalDateTime other) {
+        double days = Math.abs(Duration.between(other, reference).toHours()) / 24.0;
+        return 1.0 / (1.0 + days / RECENCY_HALF_DAYS);
+    }
+
+    /**
+     * 1 for identical breeds, otherwise the better of word overlap ("golden
+     * retriever" vs "retriever golden mix") and edit-distance similarity
+     * (typos such as "labrador" vs "labradr").
+     */
+    static double breedSimilarity(String a, String b) {
+        if (a.isEmpty() || b.isEmpty()) {
+            return UNKNOWN_BREED_SCORE;
+        }
+        if (a.equals(b)) {
+            return 1;
+        }
+        Set<String> wordsA = new HashSet<>(Arrays.asList(a.split(" ")));
+        Set<String> wordsB = new HashSet<>(Arrays.asList(b.split(" ")));
+        Set<String> union = new HashSet<>(wordsA);
+        union.addAll(wordsB);
+        long shared = wordsA.stream().filter(wordsB::contains).count();
+        double overlap = (double) shared / union.size();
+
+        double edit = 1 - (double) levenshtein(a, b) / Math.max(a.length(), b.length());
+        return Math.max(overlap, edit);
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    // Lower case, letters and digits only, single spaces
+    private static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.toLowerCase().replaceAll("[^a-z0-9]+", " ").trim();
+    }
+}
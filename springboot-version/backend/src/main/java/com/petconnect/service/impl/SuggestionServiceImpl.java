@@ -0,0 +1,201 @@
+package com.petconnect.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.petconnect.repository.PetRepository;
+import com.petconnect.repository.UserRepository;
+import com.petconnect.service.ConnectionGraphService;
+import com.petconnect.service.SuggestionService;
+import com.petconnect.util.GeoUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Ranks connection candidates by mutual connections (friends of friends from
+ * the in-memory graph), proximity (from the location index) and shared pet
+ * species. Everything is scored from memory; the database is only asked for
+ * the newest users when a new account has no graph or location signal yet.
+ */
+@Service
+@RequiredArgsConstructor
+public class SuggestionServiceImpl implements SuggestionService {
+    private static final Logger logger = LoggerFactory.getLogger(SuggestionServiceImpl.class);
+
+    private static final double MUTUAL_WEIGHT = 3.0;
+    private static final double PROXIMITY_WEIGHT = 2.0;
+    private static final double SPECIES_WEIGHT = 1.5;
+    // Distance at which the proximity score halves
+    private static final double PROXIMITY_HALF_KM = 5.0;
+    private static final String[] NO_SPECIES = new String[0];
+
+    private final ConnectionGraphService connectionGraph;
+    private final UserLocationIndex locationIndex;
+    private final PetRepository petRepository;
+    private final UserRepository userRepository;
+
+    @Value("${petconnect.app.suggestionRadiusKm:25}")
+    private double suggestionRadiusKm;
+
+    @Value("${petconnect.app.suggestionMaxNearbyCandidates:500}")
+    private int maxNearbyCandidates;
+
+    // Lower-cased, sorted, distinct species per pet owner
+    private final Map<Long, String[]> speciesByUser = new ConcurrentHashMap<>();
+
+    private record Scored(long userId, double score) {
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        Map<Long, Set<String>> species = new HashMap<>();
+        for (Object[] row : petRepository.findAllOwnerSpecies()) {
+            species.computeIfAbsent((Long) row[0], k -> new HashSet<>()).add((String) row[1]);
+        }
+        species.forEach((userId, names) -> speciesByUser.put(userId, toSortedArray(names)));
+        logger.info("Suggestion engine loaded species for {} pet owners", speciesByUser.size());
+    }
+
+    @Override
+    public void refreshSpecies(Long userId) {
+        String[] species = toSortedArray(new HashSet<>(petRepository.findDistinctSpeciesByUserId(userId)));
+        if (species.length == 0) {
+            speciesByUser.remove(userId);
+        } else {
+            speciesByUser.put(userId, species);
+        }
+    }
+
+    @Override
+    public void removeUser(Long userId) {
+        speciesByUser.remove(userId);
+    }
+
+    @Override
+    public List<Long> suggest(Long userId, int limit) {
+        Set<Long> excluded = new HashSet<>();
+        excluded.add(userId);
+        addAll(excluded, connectionGraph.getFollowingIds(userId));
+        addAll(excluded, connectionGraph.getFollowerIds(userId));
+
+        // Friends of friends, counted once per mutual connection
+        Map<Long, Integer> mutuals = new HashMap<>();
+        for (long connectionId : connectionGraph.getConnectionIds(userId)) {
+            for (long candidateId : connectionGraph.getConnectionIds(connectionId)) {
+                if (!excluded.contains(candidateId)) {
+                    mutuals.merge(candidateId, 1, Integer::sum);
+                }
+            }
+        }
+
+        double[] origin = locationIndex.getLocation(userId);
+        Map<Long, Double> distances = new HashMap<>();
+        if (origin != null) {
+            for (UserLocationIndex.Neighbor neighbor : locationIndex.within(origin[0], origin[1], suggestionRadiusKm)) {
+                if (distances.size() >= maxNearbyCandidates) {
+                    break;
+                }
+                if (!excluded.contains(neighbor.userId())) {
+                    distances.put(neighbor.userId(), neighbor.distanceKm());
+                }
+            }
+        }
+
+        Set<Long> candidates = new HashSet<>(mutuals.keySet());
+        candidates.addAll(distances.keySet());
+
+        String[] mySpecies = speciesByUser.getOrDefault(userId, NO_SPECIES);
+        PriorityQueue<Scored> top = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+        for (Long candidateId : candidates) {
+            double score = MUTUAL_WEIGHT * mutuals.getOrDefault(candidateId, 0)
+                    + PROXIMITY_WEIGHT * proximity(origin, candidateId, distances.get(candidateId))
+                    + SPECIES_WEIGHT * sharedCount(mySpecies, speciesByUser.getOrDefault(candidateId, NO_SPECIES));
+            top.offer(new Scored(candidateId, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Scored> ranked = new ArrayList<>(top);
+        ranked.sort(Comparator.comparingDouble(Scored::score).reversed());
+        List<Long> result = new ArrayList<>(ranked.size());
+        for (Scored scored : ranked) {
+            result.add(scored.userId());
+        }
+
+        if (result.size() < limit) {
+            // Cold start: no graph or location signal, fall back to the newest members
+            for (Long recentId : userRepository.findRecentNonAdminIds(PageRequest.of(0, limit + excluded.size()))) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                if (!excluded.contains(recentId) && !candidates.contains(recentId)) {
+                    result.add(recentId);
+                }
+            }
+        }
+        return result;
+    }
+
+    private double proximity(double[] origin, long candidateId, Double knownDistance) {
+        Double distance = knownDistance;
+        if (distance == null && origin != null) {
+            double[] location = locationIndex.getLocation(candidateId);
+            if (location != null) {
+                distance = GeoUtils.haversineKm(origin[0], origin[1], location[0], location[1]);
+            }
+        }
+        return distance == null ? 0 : 1.0 / (1.0 + distance / PROXIMITY_HALF_KM);
+    }
+
+    // Both arrays are sorted, so a merge walk counts the intersection
+    private static int sharedCount(String[] a, String[] b) {
+        int i = 0;
+        int j = 0;
+        int shared = 0;
+        while (i < a.length && j < b.length) {
+            int cmp = a[i].compareTo(b[j]);
+            if (cmp == 0) {
+                shared++;
+                i++;
+                j++;
+            } else if (cmp < 0) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return shared;
+    }
+
+    private static void addAll(Set<Long> target, long[] ids) {
+        for (long id : ids) {
+            target.add(id);
+        }
+    }
+
+    private static String[] toSortedArray(Set<String> species) {
+        String[] sorted = species.stream()
+                .filter(s -> s != null && !s.isBlank())
+                .map(s -> s.trim().toLowerCase())
+                .distinct()
+                .toArray(String[]::new);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
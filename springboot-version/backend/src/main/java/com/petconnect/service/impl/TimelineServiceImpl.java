@@ -0,0 +1,226 @@
+package com.petconnect.service.impl;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.petconnect.entity.Post;
+import com.petconnect.entity.TimelineEntry;
+import com.petconnect.event.ConnectionChangedEvent;
+import com.petconnect.event.PostChangedEvent;
+import com.petconnect.repository.PostRepository;
+import com.petconnect.repository.TimelineEntryRepository;
+import com.petconnect.service.ConnectionGraphService;
+import com.petconnect.service.TimelineService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Fan-out-on-write feed: CONNECTIONS posts are pushed into timeline_entries for
+ * the author and each accepted connection after the post commits, and edges
+ * that appear or disappear backfill or prune the affected timelines. PUBLIC
+ * posts are not fanned out; they come from {@link PublicPostStream}.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimelineServiceImpl implements TimelineService {
+    private static final Logger logger = LoggerFactory.getLogger(TimelineServiceImpl.class);
+
+    private static final String INSERT_ENTRY = """
+            INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, post_created_at)
+            VALUES (?, ?, ?, ?)
+            """;
+    private static final String BACKFILL_FROM_AUTHOR = """
+            INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, post_created_at)
+            SELECT ?, p.id, p.user_id, p.created_at FROM posts p
+            WHERE p.user_id = ? AND p.visibility = 'CONNECTIONS'
+            ORDER BY p.created_at DESC
+            LIMIT ?
+            """;
+    private static final String BACKFILL_FOLLOWERS = """
+            INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, post_created_at)
+            SELECT f.follower_id, p.id, p.user_id, p.created_at
+            FROM follows f JOIN posts p ON p.user_id = f.following_id
+            WHERE f.status = 'ACCEPTED' AND p.visibility = 'CONNECTIONS' AND p.created_at >= ?
+            """;
+    private static final String BACKFILL_FOLLOWING = """
+            INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, post_created_at)
+            SELECT f.following_id, p.id, p.user_id, p.created_at
+            FROM follows f JOIN posts p ON p.user_id = f.follower_id
+            WHERE f.status = 'ACCEPTED' AND p.visibility = 'CONNECTIONS' AND p.created_at >= ?
+            """;
+    private static final String BACKFILL_OWN = """
+            INSERT IGNORE INTO timeline_entries (user_id, post_id, author_id, post_created_at)
+            SELECT p.user_id, p.id, p.user_id, p.created_at FROM posts p
+            WHERE p.visibility = 'CONNECTIONS' AND p.created_at >= ?
+            """;
+    private static final String REMOVE_AUTHOR = "DELETE FROM timeline_entries WHERE user_id = ? AND author_id = ?";
+    private static final String REMOVE_POST = "DELETE FROM timeline_entries WHERE post_id = ?";
+    private static final String REMOVE_USER_TIMELINE = "DELETE FROM timeline_entries WHERE user_id = ?";
+    private static final String REMOVE_USER_POSTS = "DELETE FROM timeline_entries WHERE author_id = ?";
+
+    private static final int FAN_OUT_BATCH_SIZE = 500;
+
+    private final TimelineEntryRepository timelineEntryRepository;
+    private final PostRepository postRepository;
+    private final ConnectionGraphService connectionGraph;
+    private final PublicPostStream publicPostStream;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${petconnect.app.timeline.enabled:false}")
+    private boolean enabled;
+
+    @Value("${petconnect.app.timeline.backfillOnStartup:false}")
+    private boolean backfillOnStartup;
+
+    @Value("${petconnect.app.timeline.backfillDays:30}")
+    private int backfillDays;
+
+    @Value("${petconnect.app.timeline.connectBackfillPosts:100}")
+    private int connectBackfillPosts;
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public List<Long> getFeedPostIds(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        List<Long> ids = new ArrayList<>(limit);
+        LocalDateTime afterCreatedAt = cursorCreatedAt;
+        Long afterId = cursorId;
+        while (ids.size() < limit) {
+            int wanted = limit - ids.size();
+            List<PostRef> refs = mergedPage(userId, afterCreatedAt, afterId, wanted);
+            if (refs.isEmpty()) {
+                break;
+            }
+            // Entries can outlive their post (e.g. a cascade delete), so only keep posts that still exist
+            Set<Long> existing = new HashSet<>(postRepository.findExistingIds(
+                    refs.stream().map(PostRef::postId).collect(Collectors.toList())));
+            for (PostRef ref : refs) {
+                if (existing.contains(ref.postId())) {
+                    ids.add(ref.postId());
+                }
+            }
+            if (refs.size() < wanted) {
+                break;
+            }
+            PostRef last = refs.get(refs.size() - 1);
+            afterCreatedAt = last.createdAt();
+            afterId = last.postId();
+        }
+        return ids;
+    }
+
+    private List<PostRef> mergedPage(Long userId, LocalDateTime cursorCreatedAt, Long cursorId, int limit) {
+        Pageable pageable = PageRequest.of(0, limit);
+        List<TimelineEntry> entries = (cursorCreatedAt == null || cursorId == null)
+                ? timelineEntryRepository.findPage(userId, pageable)
+                : timelineEntryRepository.findPageAfter(userId, cursorCreatedAt, cursorId, pageable);
+
+        Map<Long, PostRef> merged = new HashMap<>();
+        for (TimelineEntry entry : entries) {
+            merged.put(entry.getPostId(), new PostRef(entry.getPostId(), entry.getPostCreatedAt()));
+        }
+        for (PostRef ref : publicPostStream.page(cursorCreatedAt, cursorId, limit)) {
+            merged.putIfAbsent(ref.postId(), ref);
+        }
+
+        return merged.values().stream()
+                .sorted(PostRef.NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    // Runs even when the timeline is disabled, since rows from an earlier enablement may remain
+    @Override
+    public void removeUser(Long userId) {
+        jdbcTemplate.update(REMOVE_USER_TIMELINE, userId);
+        jdbcTemplate.update(REMOVE_USER_POSTS, userId);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.deleted() || event.visibility() == Post.Visibility.PUBLIC) {
+            jdbcTemplate.update(REMOVE_POST, event.postId());
+        }
+        if (event.deleted()) {
+            publicPostStream.remove(event.postId());
+            return;
+        }
+
+        if (event.visibility() == Post.Visibility.PUBLIC) {
+            publicPostStream.add(new PostRef(event.postId(), event.createdAt()));
+        } else {
+            publicPostStream.remove(event.postId());
+            fanOut(event);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.connected()) {
+            jdbcTemplate.update(BACKFILL_FROM_AUTHOR, event.userId(), event.otherUserId(), connectBackfillPosts);
+            jdbcTemplate.update(BACKFILL_FROM_AUTHOR, event.otherUserId(), event.userId(), connectBackfillPosts);
+        } else {
+            jdbcTemplate.update(REMOVE_AUTHOR, event.userId(), event.otherUserId());
+            jdbcTemplate.update(REMOVE_AUTHOR, event.otherUserId(), event.userId());
+        }
+    }
+
+    // Seeds timelines when the feature is switched on for an existing database
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        if (!enabled || !backfillOnStartup) {
+            return;
+        }
+        LocalDateTime since = LocalDateTime.now().minusDays(backfillDays);
+        int rows = jdbcTemplate.update(BACKFILL_FOLLOWERS, since)
+                + jdbcTemplate.update(BACKFILL_FOLLOWING, since)
+                + jdbcTemplate.update(BACKFILL_OWN, since);
+        logger.info("Timeline backfill inserted {} entries for posts since {}", rows, since);
+    }
+
+    private void fanOut(PostChangedEvent event) {
+        List<Long> recipients = new ArrayList<>();
+        recipients.add(event.authorId());
+        for (long connectionId : connectionGraph.getConnectionIds(event.authorId())) {
+            recipients.add(connectionId);
+        }
+
+        for (int from = 0; from < recipients.size(); from += FAN_OUT_BATCH_SIZE) {
+            List<Object[]> args = new ArrayList<>();
+            for (Long recipientId : recipients.subList(from, Math.min(recipients.size(), from + FAN_OUT_BATCH_SIZE))) {
+                args.add(new Object[] { recipientId, event.postId(), event.authorId(), event.createdAt() });
+            }
+            jdbcTemplate.batchUpdate(INSERT_ENTRY, args);
+        }
+        logger.debug("Fanned out post {} to {} timelines", event.postId(), recipients.size());
+    }
+}
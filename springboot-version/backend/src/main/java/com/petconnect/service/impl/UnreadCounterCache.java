@@ -0,0 +1,119 @@
+package com.petconnect.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.petconnect.repository.NotificationRepository;
+import com.petconnect.util.TransactionUtils;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per-user unread notification counters. A counter is loaded from the table
+ * the first time a user's badge is asked for and from then on is moved by the
+ * notification writes, applied once they commit. Deltas for users who are not
+ * cached are dropped; the next load reads the committed count. A write that
+ * commits while its user's counter is being loaded can be counted twice (or
+ * not at all), so counters are reloaded after a short TTL to resync.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadCounterCache {
+    // Entries sampled per eviction; the least recently read of them is dropped
+    private static final int EVICTION_SAMPLE = 8;
+
+    private final NotificationRepository notificationRepository;
+
+    @Value("${petconnect.app.unreadCacheMaxUsers:100000}")
+    private int maxUsers;
+
+    @Value("${petconnect.app.unreadCacheTtlMs:60000}")
+    private long ttlMs;
+
+    private final Map<Long, Counter> counters = new ConcurrentHashMap<>();
+
+    private static final class Counter {
+        final AtomicLong value;
+        final long loadedAtNanos;
+        volatile long lastReadNanos;
+
+        Counter(long initial, long now) {
+            this.value = new AtomicLong(initial);
+            this.loadedAtNanos = now;
+            this.lastReadNanos = now;
+        }
+
+        void touch(long now) {
+            lastReadNanos = now;
+        }
+
+        boolean isStale(long now, long ttlNanos) {
+            return now - loadedAtNanos >= ttlNanos;
+        }
+    }
+
+    public long get(long userId) {
+        long now = System.nanoTime();
+        long ttlNanos = ttlMs * 1_000_000L;
+        Counter counter = counters.get(userId);
+        if (counter != null && !counter.isStale(now, ttlNanos)) {
+            counter.touch(now);
+            return counter.value.get();
+        }
+        if (counter == null && counters.size() >= maxUsers) {
+            evictOne();
+        }
+        return counters.compute(userId, (id, existing) -> existing != null && !existing.isStale(now, ttlNanos)
+                ? existing
+                : new Counter(notificationRepository.countByUserIdAndIsReadFalse(id), now)).value.get();
+    }
+
+    public void increment(long userId, long delta) {
+        TransactionUtils.afterCommit(() -> counters.computeIfPresent(userId, (id, counter) -> {
+            counter.value.addAndGet(delta);
+            return counter;
+        }));
+    }
+
+    public void decrement(long userId, long delta) {
+        TransactionUtils.afterCommit(() -> counters.computeIfPresent(userId, (id, counter) -> {
+            counter.value.accumulateAndGet(delta, (current, d) -> Math.max(current - d, 0));
+            return counter;
+        }));
+    }
+
+    public void reset(long userId) {
+        TransactionUtils.afterCommit(() -> counters.computeIfPresent(userId, (id, counter) -> {
+            counter.value.set(0);
+            return counter;
+        }));
+    }
+
+    public void evict(long userId) {
+        counters.remove(userId);
+    }
+
+    // Approximate LRU: drop the stalest of a few entries instead of scanning them all
+    private void evictOne() {
+        Long stalest = null;
+        long stalestRead = Long.MAX_VALUE;
+        int sampled = 0;
+        for (Map.Entry<Long, Counter> entry : counters.entrySet()) {
+            long lastRead = entry.getValue().lastReadNanos;
+            if (stalest == null || lastRead - stalestRead < 0) {
+                stalest = entry.getKey();
+                stalestRead = lastRead;
+            }
+            if (++sampled >= EVICTION_SAMPLE) {
+                break;
+            }
+        }
+        if (stalest != null) {
+            counters.remove(stalest);
+        }
+    }
+}
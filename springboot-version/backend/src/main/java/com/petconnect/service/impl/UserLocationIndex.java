@@ -0,0 +1,141 @@
+package com.petconnect.service.impl;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.petconnect.entity.User;
+import com.petconnect.repository.UserRepository;
+import com.petconnect.util.GeoUtils;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Uniform lat/long grid over the locations of non-admin users. Radius queries
+ * only visit the cells overlapping the query's bounding box, so their cost
+ * follows local density rather than the total number of users. A box that
+ * crosses the antimeridian is split into its two longitude ranges.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserLocationIndex {
+    private static final Logger logger = LoggerFactory.getLogger(UserLocationIndex.class);
+
+    private final UserRepository userRepository;
+
+    @Value("${petconnect.app.geoCellDegrees:0.1}")
+    private double cellDegrees;
+
+    private final Map<Long, double[]> locations = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    public record Neighbor(long userId, double distanceKm) {
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        for (Object[] row : userRepository.findIndexableLocations()) {
+            put((Long) row[0], (Double) row[1], (Double) row[2]);
+        }
+        logger.info("User location index loaded with {} users", locations.size());
+    }
+
+    public void put(User user) {
+        if (user.getLatitude() == null || user.getLongitude() == null || "ADMIN".equals(user.getRole())) {
+            remove(user.getId());
+            return;
+        }
+        put(user.getId(), user.getLatitude(), user.getLongitude());
+    }
+
+    public synchronized void put(long userId, double lat, double lon) {
+        remove(userId);
+        locations.put(userId, new double[] { lat, lon });
+        cells.computeIfAbsent(cellKey(lat, lon), k -> ConcurrentHashMap.newKeySet()).add(userId);
+    }
+
+    public synchronized void remove(long userId) {
+        double[] previous = locations.remove(userId);
+        if (previous != null) {
+            cells.computeIfPresent(cellKey(previous[0], previous[1]), (k, ids) -> {
+                ids.remove(userId);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    /** [lat, lon] of an indexed user, or null. */
+    public double[] getLocation(long userId) {
+        return locations.get(userId);
+    }
+
+    /** Indexed users within {@code radiusKm} great-circle distance, nearest first. */
+    public List<Neighbor> within(double lat, double lon, double radiusKm) {
+        double latDelta = GeoUtils.latDelta(radiusKm);
+        long minLatCell = cellIndex(Math.max(-90, lat - latDelta));
+        long maxLatCell = cellIndex(Math.min(90, lat + latDelta));
+        double[][] lonRanges = GeoUtils.lonRanges(lon, GeoUtils.lonDelta(lat, radiusKm));
+        long lonCells = 0;
+        for (double[] range : lonRanges) {
+            lonCells += cellIndex(range[1]) - cellIndex(range[0]) + 1;
+        }
+
+        List<Neighbor> result = new ArrayList<>();
+        long cellCount = (maxLatCell - minLatCell + 1) * lonCells;
+        if (cellCount > locations.size()) {
+            // Very large radius: walking the points is cheaper than walking empty cells
+            locations.forEach((id, location) -> {
+                double distance = GeoUtils.haversineKm(lat, lon, location[0], location[1]);
+                if (distance <= radiusKm) {
+                    result.add(new Neighbor(id, distance));
+                }
+            });
+            result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+            return result;
+        }
+
+        for (long latCell = minLatCell; latCell <= maxLatCell; latCell++) {
+            for (double[] range : lonRanges) {
+                for (long lonCell = cellIndex(range[0]); lonCell <= cellIndex(range[1]); lonCell++) {
+                    Set<Long> ids = cells.get(key(latCell, lonCell));
+                    if (ids == null) {
+                        continue;
+                    }
+                    for (Long id : ids) {
+                        double[] location = locations.get(id);
+                        if (location == null) {
+                            continue;
+                        }
+                        double distance = GeoUtils.haversineKm(lat, lon, location[0], location[1]);
+                        if (distance <= radiusKm) {
+                            result.add(new Neighbor(id, distance));
+                        }
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(Neighbor::distanceKm));
+        return result;
+    }
+
+    private long cellKey(double lat, double lon) {
+        return key(cellIndex(lat), cellIndex(lon));
+    }
+
+    private long cellIndex(double degrees) {
+        return (long) Math.floor(degrees / cellDegrees);
+    }
+
+    private static long key(long latCell, long lonCell) {
+        return (latCell << 32) | (lonCell & 0xffffffffL);
+    }
+}
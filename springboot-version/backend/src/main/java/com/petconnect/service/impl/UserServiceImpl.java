@@ -6,15 +6,23 @@ import com.petconnect.repository.PetRepository;
 import com.petconnect.repository.PostRepository;
 import com.petconnect.repository.UserRepository;
 import com.petconnect.security.JwtUtils;
+import com.petconnect.security.PasswordHashingService;
+import com.petconnect.security.PrincipalCache;
+import com.petconnect.security.TokenVersionRegistry;
+import com.petconnect.service.ConnectionGraphService;
 import com.petconnect.service.EmailService;
 import com.petconnect.service.OtpService;
+import com.petconnect.service.SuggestionService;
+import com.petconnect.service.TimelineService;
 import com.petconnect.service.UserService;
+import com.petconnect.util.TransactionUtils;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,11 +31,19 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PetRepository petRepository;
     private final PostRepository postRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashing;
     private final JwtUtils jwtUtils;
     private final OtpService otpService;
     private final EmailService emailService;
     private final org.modelmapper.ModelMapper modelMapper;
+    private final ConnectionGraphService connectionGraph;
+    private final UserLocationIndex locationIndex;
+    private final SuggestionService suggestionService;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
+    private final ReportMatchIndex matchIndex;
+    private final TimelineService timelineService;
+    private final UnreadCounterCache unreadCounters;
 
     @Override
     public String register(RegisterRequest request) {
@@ -39,9 +55,10 @@ public class UserServiceImpl implements UserService {
         }
 
         User user = modelMapper.map(request, User.class);
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHashing.encode(request.getPassword()));
 
         userRepository.save(user);
+        locationIndex.put(user);
         return "User registered successfully";
     }
 
@@ -50,10 +67,16 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (!passwordHashing.matches(request.getPassword(), user.getPassword())) {
             throw new RuntimeException("Invalid password");
         }
 
+        // Cost was raised since this hash was made; rehash while we have the plain password
+        if (passwordHashing.upgradeEncoding(user.getPassword())) {
+            userRepository.updatePassword(user.getId(), passwordHashing.encode(request.getPassword()));
+            principalCache.invalidate(user.getUsername());
+        }
+
         String otp = otpService.generateOtp(user.getEmail());
         emailService.sendOtp(user.getEmail(), otp);
 
@@ -73,7 +96,7 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        String token = jwtUtils.generateTokenFromUsername(user.getUsername());
+        String token = jwtUtils.generateTokenForUser(user);
 
         return LoginResponse.builder()
                 .token(token)
@@ -103,35 +126,34 @@ public class UserServiceImpl implements UserService {
 
     @Override
     public List<NearbyUserDto> getNearbyUsers(Long userId, Double userLat, Double userLong, Double radiusKm) {
-        List<User> allUsers = userRepository.findAll();
         final double CIRCUITY_FACTOR = 1.4;
 
-        return allUsers.stream()
-                .filter(u -> !u.getId().equals(userId))
-                .filter(u -> !u.getRole().equals("ADMIN"))
-                .filter(u -> u.getLatitude() != null && u.getLongitude() != null)
-                .map(u -> {
-                    double rawDistance = calculateDistance(userLat, userLong, u.getLatitude(), u.getLongitude());
-                    double estimatedRoadDistance = rawDistance * CIRCUITY_FACTOR;
+        // The index works in great-circle distance; widen slightly so rounding matches the final filter
+        List<UserLocationIndex.Neighbor> neighbors = locationIndex
+                .within(userLat, userLong, radiusKm / CIRCUITY_FACTOR + 0.01).stream()
+                .filter(n -> n.userId() != userId)
+                .collect(Collectors.toList());
+        if (neighbors.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, User> usersById = userRepository
+                .findAllById(neighbors.stream().map(UserLocationIndex.Neighbor::userId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return neighbors.stream()
+                .filter(n -> usersById.containsKey(n.userId()))
+                .map(n -> {
+                    User u = usersById.get(n.userId());
+                    double estimatedRoadDistance = n.distanceKm() * CIRCUITY_FACTOR;
                     return new NearbyUserDto(u.getId(), u.getFullName(), u.getImageUrl(),
                             Math.round(estimatedRoadDistance * 100.0) / 100.0);
                 })
                 .filter(dto -> dto.getDistance() <= radiusKm)
-                .sorted((a, b) -> a.getDistance().compareTo(b.getDistance()))
                 .collect(Collectors.toList());
     }
 
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        double R = 6371; // Earth's radius in KM
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
-
     @Override
     public List<UserDto> getAllUsers() {
         return com.petconnect.PetConnectApplication.mapList(modelMapper, userRepository.findAll(), UserDto.class);
@@ -145,11 +167,30 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found");
-        }
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
         userRepository.deleteById(id);
+        // After commit, so a concurrent request cannot re-cache the row before it is gone
+        TransactionUtils.afterCommit(() -> {
+            principalCache.invalidate(user.getUsername());
+            unreadCounters.evict(id);
+        });
+        tokenVersions.markDeleted(id);
+        connectionGraph.removeUser(id);
+        locationIndex.remove(id);
+        suggestionService.removeUser(id);
+        matchIndex.removeByReporter(id);
+        timelineService.removeUser(id);
+    }
+
+    @Override
+    public void revokeTokens(Long id) {
+        User user = userRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        tokenVersions.revoke(id);
+        principalCache.invalidate(user.getUsername());
     }
 
     @Override
@@ -0,0 +1,56 @@
+package com.petconnect.util;
+
+/**
+ * Great-circle helpers shared by the location based features.
+ */
+public final class GeoUtils {
+    public static final double EARTH_RADIUS_KM = 6371;
+    public static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoUtils() {
+    }
+
+    public static double haversineKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
+                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
+                        Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+        return EARTH_RADIUS_KM * c;
+    }
+
+    /** Half-height in degrees of the latitude band covering {@code radiusKm}. */
+    public static double latDelta(double radiusKm) {
+        return radiusKm / KM_PER_DEGREE_LAT;
+    }
+
+    /** Half-width in degrees of the longitude band covering {@code radiusKm} at {@code lat}. */
+    public static double lonDelta(double lat, double radiusKm) {
+        double cos = Math.cos(Math.toRadians(lat));
+        if (cos < 1e-6) {
+            return 180;
+        }
+        return Math.min(180, radiusKm / (KM_PER_DEGREE_LAT * cos));
+    }
+
+    /**
+     * Longitude ranges {@code [min, max]} covering {@code lon ± delta}. A span
+     * crossing the antimeridian is split into one range ending at 180 and one
+     * starting at -180; a half-width of 180 or more covers every longitude.
+     */
+    public static double[][] lonRanges(double lon, double delta) {
+        if (delta >= 180) {
+            return new double[][] { { -180, 180 } };
+        }
+        double min = lon - delta;
+        double max = lon + delta;
+        if (min < -180) {
+            return new double[][] { { min + 360, 180 }, { -180, max } };
+        }
+        if (max > 180) {
+            return new double[][] { { min, 180 }, { -180, max - 360 } };
+        }
+        return new double[][] { { min, max } };
+    }
+}
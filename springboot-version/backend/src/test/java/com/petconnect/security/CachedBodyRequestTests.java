@@ -0,0 +1,124 @@
+package com.petconnect.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+class CachedBodyRequestTests {
+
+	private static final int LIMIT = 16;
+
+	@Test
+	void smallBodyIsBufferedAndReplayed() throws IOException {
+		CachedBodyRequest request = new CachedBodyRequest(request("{\"a\":1}"), LIMIT);
+
+		assertThat(new String(request.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"a\":1}");
+		assertThat(request.getInputStream().readAllBytes()).isEqualTo(request.getBody());
+		assertThat(request.getReader().readLine()).isEqualTo("{\"a\":1}");
+	}
+
+	@Test
+	void declaredOversizedBodyIsNotReadAndPassesThrough() throws IOException {
+		String body = "x".repeat(LIMIT * 4);
+		MockHttpServletRequest original = request(body);
+		CachedBodyRequest request = new CachedBodyRequest(original, LIMIT);
+
+		assertThat(request.getBody()).isNull();
+		assertThat(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+	}
+
+	@Test
+	void undeclaredOversizedBodyReadsOnlyPastTheLimitAndStreamsTheRest() throws IOException {
+		String body = "0123456789".repeat(LIMIT);
+		CountingRequest original = new CountingRequest(body);
+		CachedBodyRequest request = new CachedBodyRequest(original, LIMIT);
+
+		assertThat(request.getBody()).isNull();
+		assertThat(original.consumed).isEqualTo(LIMIT + 1);
+		assertThat(new String(request.getInputStream().readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+	}
+
+	@Test
+	void readListenerSeesBufferedBodyThenEnd() throws IOException {
+		CachedBodyRequest request = new CachedBodyRequest(request("{}"), LIMIT);
+		ServletInputStream in = request.getInputStream();
+		ReadListener listener = mock(ReadListener.class);
+
+		in.setReadListener(listener);
+
+		InOrder order = inOrder(listener);
+		order.verify(listener).onDataAvailable();
+		order.verify(listener).onAllDataRead();
+	}
+
+	private static MockHttpServletRequest request(String body) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/auth/login");
+		request.setContent(body.getBytes(StandardCharsets.UTF_8));
+		return request;
+	}
+
+	// Chunked upload: no Content-Length, and counts how much of the body was pulled
+	private static class CountingRequest extends MockHttpServletRequest {
+		private final ByteArrayInputStream source;
+		private int consumed;
+
+		CountingRequest(String body) {
+			super("POST", "/api/auth/login");
+			this.source = new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+		}
+
+		@Override
+		public long getContentLengthLong() {
+			return -1;
+		}
+
+		@Override
+		public ServletInputStream getInputStream() {
+			return new ServletInputStream() {
+				@Override
+				public int read() {
+					int b = source.read();
+					if (b != -1) {
+						consumed++;
+					}
+					return b;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) {
+					int n = source.read(b, off, len);
+					if (n > 0) {
+						consumed += n;
+					}
+					return n;
+				}
+
+				@Override
+				public boolean isFinished() {
+					return source.available() == 0;
+				}
+
+				@Override
+				public boolean isReady() {
+					return true;
+				}
+
+				@Override
+				public void setReadListener(ReadListener listener) {
+					throw new UnsupportedOperationException();
+				}
+			};
+		}
+	}
+}
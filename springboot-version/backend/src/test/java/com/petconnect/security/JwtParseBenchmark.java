@@ -0,0 +1,81 @@
+package com.petconnect.security;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.petconnect.entity.User;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Per-request JWT cost: the previous filter path (validate, then parse again
+ * for the username, rebuilding the key and parser each time) against
+ * {@link JwtUtils#parseToken}. It is not picked up by {@code mvn test}; run
+ * the main method after {@code mvn test-compile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtParseBenchmark {
+	private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+	private JwtUtils jwtUtils;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		jwtUtils = new JwtUtils();
+		ReflectionTestUtils.setField(jwtUtils, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtils, "jwtExpirationMs", 3_600_000);
+		jwtUtils.init();
+
+		User user = new User();
+		user.setId(42L);
+		user.setUsername("benchmark");
+		user.setEmail("benchmark@example.com");
+		user.setRole("USER");
+		token = jwtUtils.generateTokenForUser(user);
+	}
+
+	@Benchmark
+	public String doubleParse() {
+		// What JwtUtils and the filter did before: two full verifications per request
+		Jwts.parserBuilder().setSigningKey(legacyKey()).build().parse(token);
+		return Jwts.parserBuilder().setSigningKey(legacyKey()).build()
+				.parseClaimsJws(token).getBody().getSubject();
+	}
+
+	@Benchmark
+	public JwtClaims singleParse() {
+		return jwtUtils.parseToken(token);
+	}
+
+	private static Key legacyKey() {
+		return Keys.hmacShaKeyFor(SECRET.getBytes());
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(JwtParseBenchmark.class.getSimpleName())
+				.build()).run();
+	}
+}
@@ -0,0 +1,89 @@
+package com.petconnect.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTests {
+
+	// One token a minute keeps every assertion far away from a refill
+	private static final RateLimiter.Limit ONE_PER_MINUTE_BURST_TWO = new RateLimiter.Limit(1, 2);
+
+	private RateLimiter rateLimiter;
+
+	@BeforeEach
+	void setUp() {
+		rateLimiter = new RateLimiter(new SimpleMeterRegistry());
+	}
+
+	@Test
+	void allowsUpToTheBurst() {
+		assertThat(rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO)).isZero();
+		assertThat(rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO)).isZero();
+	}
+
+	@Test
+	void rejectsOnceTheBurstIsSpentWithTheTimeUntilTheNextToken() {
+		rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+		rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+
+		long waitNanos = rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+
+		assertThat(waitNanos).isPositive()
+				.isLessThanOrEqualTo(TimeUnit.MINUTES.toNanos(1))
+				.isGreaterThan(TimeUnit.SECONDS.toNanos(50));
+	}
+
+	@Test
+	void rejectedRequestsDoNotConsumeTokens() {
+		rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+		rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+		long first = rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+		long second = rateLimiter.tryAcquire("k", ONE_PER_MINUTE_BURST_TWO);
+
+		// A rejected call leaves the arrival time alone, so the wait only shrinks
+		assertThat(second).isLessThanOrEqualTo(first);
+	}
+
+	@Test
+	void keysHaveIndependentBuckets() {
+		RateLimiter.Limit single = new RateLimiter.Limit(1, 1);
+		assertThat(rateLimiter.tryAcquire("a", single)).isZero();
+		assertThat(rateLimiter.tryAcquire("a", single)).isPositive();
+		assertThat(rateLimiter.tryAcquire("b", single)).isZero();
+	}
+
+	@Test
+	void unsetBucketIsTreatedAsFullWhateverTheClockValue() {
+		// Long.MIN_VALUE marks a new bucket; subtracting the clock from it would
+		// overflow, so it must be recognised before any arithmetic
+		buckets().put("k", new AtomicLong(Long.MIN_VALUE));
+
+		assertThat(rateLimiter.tryAcquire("k", new RateLimiter.Limit(1, 1))).isZero();
+		assertThat(buckets().get("k").get()).isNotEqualTo(Long.MIN_VALUE);
+	}
+
+	@Test
+	void sweepDropsOnlyBucketsThatHaveRefilled() {
+		rateLimiter.tryAcquire("busy", ONE_PER_MINUTE_BURST_TWO);
+		buckets().put("unset", new AtomicLong(Long.MIN_VALUE));
+		buckets().put("idle", new AtomicLong(System.nanoTime() - TimeUnit.MINUTES.toNanos(1)));
+
+		rateLimiter.sweepIdle();
+
+		assertThat(buckets()).containsOnlyKeys("busy");
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, AtomicLong> buckets() {
+		return (Map<String, AtomicLong>) ReflectionTestUtils.getField(rateLimiter, "buckets");
+	}
+}
@@ -0,0 +1,124 @@
+package com.petconnect.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.mail.MailSenderAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.petconnect.exception.GlobalExceptionHandler;
+import com.petconnect.exception.ServiceBusyException;
+import com.petconnect.service.EmailService;
+import com.petconnect.support.SmtpStubServer;
+
+/**
+ * Runs the mail queue against a real JavaMailSender pointed at an in-process
+ * SMTP stub. Only the mail beans are started, so no database is needed.
+ */
+@SpringBootTest(classes = EmailServiceImpl.class, properties = {
+		"petconnect.app.mail.workers=1",
+		"petconnect.app.mail.retryBackoffMs=10",
+		"petconnect.app.mail.maxAttempts=3",
+		"petconnect.app.otp.ttlMinutes=7"
+})
+@ImportAutoConfiguration(MailSenderAutoConfiguration.class)
+class EmailServiceImplTests {
+
+	private static final SmtpStubServer smtp = new SmtpStubServer();
+
+	@Autowired
+	private EmailService emailService;
+
+	@DynamicPropertySource
+	static void mailProperties(DynamicPropertyRegistry registry) {
+		registry.add("spring.mail.host", () -> "localhost");
+		registry.add("spring.mail.port", smtp::getPort);
+		registry.add("spring.mail.properties.mail.smtp.auth", () -> "false");
+		registry.add("spring.mail.properties.mail.smtp.starttls.enable", () -> "false");
+	}
+
+	@AfterAll
+	static void stopSmtp() throws Exception {
+		smtp.close();
+	}
+
+	@BeforeEach
+	void resetFailures() {
+		smtp.failNext(0);
+	}
+
+	@Test
+	void deliversOtpMail() throws Exception {
+		int before = smtp.getMessages().size();
+
+		emailService.sendOtp("alice@example.com", "482913");
+
+		List<SmtpStubServer.ReceivedMail> mails = smtp.awaitMessages(before + 1, 5000);
+		SmtpStubServer.ReceivedMail mail = mails.get(mails.size() - 1);
+		assertThat(mail.recipients()).containsExactly("alice@example.com");
+		assertThat(mail.data()).contains("482913");
+		assertThat(mail.data()).contains("valid for <strong>7 minutes</strong>");
+	}
+
+	@Test
+	void retriesAfterTransientFailure() throws Exception {
+		int before = smtp.getMessages().size();
+		int rejectedBefore = smtp.getRejectedCount();
+		smtp.failNext(1);
+
+		emailService.sendOtp("bob@example.com", "105226");
+
+		List<SmtpStubServer.ReceivedMail> mails = smtp.awaitMessages(before + 1, 5000);
+		assertThat(smtp.getRejectedCount()).isEqualTo(rejectedBefore + 1);
+		assertThat(mails).hasSize(before + 1);
+		assertThat(mails.get(mails.size() - 1).recipients()).containsExactly("bob@example.com");
+	}
+
+	@Test
+	void fullQueueIsRejectedWith503() throws Exception {
+		// Workers are never started outside the container, so the queue only fills
+		EmailServiceImpl saturated = new EmailServiceImpl(mock(JavaMailSender.class), 1, 5);
+		saturated.sendOtp("carol@example.com", "111111");
+		assertThatThrownBy(() -> saturated.sendOtp("carol@example.com", "222222"))
+				.isInstanceOf(ServiceBusyException.class);
+
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(new OtpTriggerController(saturated))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+		mvc.perform(post("/otp"))
+				.andExpect(status().isServiceUnavailable())
+				.andExpect(header().exists("Retry-After"));
+	}
+
+	@RestController
+	static class OtpTriggerController {
+		private final EmailService emailService;
+
+		OtpTriggerController(EmailService emailService) {
+			this.emailService = emailService;
+		}
+
+		@PostMapping("/otp")
+		void send() {
+			emailService.sendOtp("carol@example.com", "333333");
+		}
+	}
+}
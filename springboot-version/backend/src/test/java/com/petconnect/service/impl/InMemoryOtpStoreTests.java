@@ -0,0 +1,86 @@
+package com.petconnect.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.petconnect.service.OtpStore.OtpEntry;
+
+class InMemoryOtpStoreTests {
+
+	private InMemoryOtpStore store;
+
+	@BeforeEach
+	void setUp() {
+		store = new InMemoryOtpStore();
+		ReflectionTestUtils.setField(store, "capacity", 10);
+	}
+
+	@Test
+	void savedEntryIsFound() {
+		OtpEntry entry = live("123456", 5);
+		store.save("a@example.com", entry);
+
+		assertThat(store.find("a@example.com")).contains(entry);
+		assertThat(store.find("b@example.com")).isEmpty();
+	}
+
+	@Test
+	void failedAttemptsAreCountedPerCodeAndResetBySave() {
+		store.save("a@example.com", live("123456", 5));
+
+		assertThat(store.recordFailedAttempt("a@example.com")).isEqualTo(1);
+		assertThat(store.recordFailedAttempt("a@example.com")).isEqualTo(2);
+		assertThat(store.recordFailedAttempt("b@example.com")).isZero();
+
+		store.save("a@example.com", live("654321", 5));
+		assertThat(store.recordFailedAttempt("a@example.com")).isEqualTo(1);
+	}
+
+	@Test
+	void removeOnlyDropsTheGivenEntry() {
+		OtpEntry old = live("123456", 5);
+		OtpEntry fresh = live("654321", 5);
+		store.save("a@example.com", old);
+		store.save("a@example.com", fresh);
+
+		store.remove("a@example.com", old);
+		assertThat(store.find("a@example.com")).contains(fresh);
+
+		store.remove("a@example.com", fresh);
+		assertThat(store.find("a@example.com")).isEmpty();
+	}
+
+	@Test
+	void sweepRemovesOnlyExpiredEntries() {
+		store.save("expired@example.com", live("111111", -1));
+		store.save("live@example.com", live("222222", 5));
+
+		assertThat(store.sweepExpired()).isEqualTo(1);
+		assertThat(store.find("expired@example.com")).isEmpty();
+		assertThat(store.find("live@example.com")).isPresent();
+	}
+
+	@Test
+	void fullStoreEvictsEntriesClosestToExpiry() {
+		for (int i = 0; i < 10; i++) {
+			store.save("user" + i + "@example.com", live("00000" + i, i + 1));
+		}
+
+		store.save("new@example.com", live("999999", 5));
+
+		assertThat(store.find("user0@example.com")).isEmpty();
+		assertThat(store.find("user1@example.com")).isPresent();
+		assertThat(store.find("new@example.com")).isPresent();
+	}
+
+	private static OtpEntry live(String otp, int minutes) {
+		return new OtpEntry(otp, System.nanoTime() + TimeUnit.MINUTES.toNanos(minutes),
+				LocalDateTime.now().plusMinutes(minutes));
+	}
+}
@@ -0,0 +1,124 @@
+package com.petconnect.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class LikeWriteBufferTests {
+
+	private static final String INSERT_LIKE = "INSERT IGNORE INTO post_likes (user_id, post_id) VALUES (?, ?)";
+	private static final String DELETE_LIKE = "DELETE FROM post_likes WHERE user_id = ? AND post_id = ?";
+
+	private JdbcTemplate jdbcTemplate;
+	private LikeWriteBuffer buffer;
+
+	@BeforeEach
+	void setUp() {
+		jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.batchUpdate(eq(INSERT_LIKE), anyList())).thenAnswer(inv -> ones(inv.getArgument(1)));
+		when(jdbcTemplate.batchUpdate(eq(DELETE_LIKE), anyList())).thenAnswer(inv -> ones(inv.getArgument(1)));
+		buffer = new LikeWriteBuffer(jdbcTemplate, new TransactionTemplate(mock(PlatformTransactionManager.class)));
+	}
+
+	@Test
+	void toggleReportsNewLikeAndReadsBufferedState() {
+		assertThat(buffer.toggle(1, 10, () -> false)).isTrue();
+		assertThat(buffer.isLiked(1, 10, () -> false)).isTrue();
+		assertThat(buffer.pendingDeltas(List.of(1L))).containsEntry(1L, 1);
+
+		// Undoing a buffered like is not a new like and leaves no net change
+		assertThat(buffer.toggle(1, 10, () -> false)).isFalse();
+		assertThat(buffer.pendingDeltas(List.of(1L))).isEmpty();
+	}
+
+	@Test
+	void flushWritesOnlyNetChanges() {
+		buffer.toggle(1, 10, () -> false);
+		buffer.toggle(1, 10, () -> false);
+		buffer.toggle(2, 10, () -> false);
+		buffer.toggle(3, 10, () -> true);
+
+		buffer.flush();
+
+		assertThat(insertedKeys()).containsExactly(List.of(10L, 2L));
+		assertThat(deletedKeys()).containsExactly(List.of(10L, 3L));
+		assertThat(buffer.isBuffered(1, 10)).isFalse();
+		assertThat(buffer.isBuffered(2, 10)).isFalse();
+	}
+
+	@Test
+	void failedFlushRebasesTogglesMadeDuringTheFlush() {
+		buffer.toggle(1, 10, () -> false);
+
+		// The user taps twice while the batch is being written, then the write fails
+		doAnswer(inv -> {
+			buffer.toggle(1, 10, () -> false);
+			buffer.toggle(1, 10, () -> false);
+			throw new DataAccessResourceFailureException("connection lost");
+		}).when(jdbcTemplate).batchUpdate(eq(INSERT_LIKE), anyList());
+
+		buffer.flush();
+
+		assertThat(buffer.isLiked(1, 10, () -> false)).isTrue();
+		assertThat(buffer.pendingDeltas(List.of(1L))).isEqualTo(Map.of(1L, 1));
+
+		doAnswer(inv -> ones(inv.getArgument(1))).when(jdbcTemplate).batchUpdate(eq(INSERT_LIKE), anyList());
+		buffer.flush();
+
+		assertThat(buffer.isBuffered(1, 10)).isFalse();
+		verify(jdbcTemplate, never()).batchUpdate(eq(DELETE_LIKE), anyList());
+	}
+
+	@Test
+	void failedFlushKeepsUntouchedEntriesForRetry() {
+		buffer.toggle(1, 10, () -> false);
+		doThrow(new DataAccessResourceFailureException("connection lost"))
+				.when(jdbcTemplate).batchUpdate(eq(INSERT_LIKE), anyList());
+
+		buffer.flush();
+
+		assertThat(buffer.isBuffered(1, 10)).isTrue();
+		assertThat(buffer.pendingDeltas(List.of(1L))).containsEntry(1L, 1);
+	}
+
+	private List<List<Long>> insertedKeys() {
+		return capturedKeys(INSERT_LIKE);
+	}
+
+	private List<List<Long>> deletedKeys() {
+		return capturedKeys(DELETE_LIKE);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<Long>> capturedKeys(String sql) {
+		ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(eq(sql), args.capture());
+		return args.getValue().stream()
+				.map(row -> List.of((Long) row[0], (Long) row[1]))
+				.toList();
+	}
+
+	private static int[] ones(List<?> args) {
+		int[] affected = new int[args.size()];
+		Arrays.fill(affected, 1);
+		return affected;
+	}
+}
@@ -0,0 +1,110 @@
+package com.petconnect.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.petconnect.dto.OrderDto;
+import com.petconnect.entity.CartItem;
+import com.petconnect.entity.Order;
+import com.petconnect.entity.Product;
+import com.petconnect.entity.User;
+import com.petconnect.repository.CartRepository;
+import com.petconnect.repository.OrderRepository;
+import com.petconnect.repository.UserRepository;
+import com.petconnect.service.CartService;
+
+class OrderServiceImplTests {
+
+	private static final long USER_ID = 7L;
+
+	private OrderRepository orderRepository;
+	private CartRepository cartRepository;
+	private CartService cartService;
+	private JdbcTemplate jdbcTemplate;
+	private OrderServiceImpl orderService;
+
+	@BeforeEach
+	void setUp() {
+		orderRepository = mock(OrderRepository.class);
+		cartRepository = mock(CartRepository.class);
+		cartService = mock(CartService.class);
+		jdbcTemplate = mock(JdbcTemplate.class);
+		UserRepository userRepository = mock(UserRepository.class);
+
+		User user = new User();
+		user.setId(USER_ID);
+		user.setUsername("buyer");
+		when(userRepository.findById(USER_ID)).thenReturn(Optional.of(user));
+		when(orderRepository.save(any(Order.class))).thenAnswer(inv -> inv.getArgument(0));
+
+		orderService = new OrderServiceImpl(orderRepository, cartRepository, cartService, userRepository,
+				jdbcTemplate);
+	}
+
+	@Test
+	void reservesMergedLinesInProductIdOrderWithOneBatch() {
+		Product bowl = product(20L, "Bowl", "4.50");
+		Product leash = product(10L, "Leash", "12.00");
+		when(cartRepository.findByUserId(USER_ID))
+				.thenReturn(List.of(line(bowl, 1), line(leash, 2), line(bowl, 3)));
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1, 1 });
+
+		OrderDto order = orderService.checkout(USER_ID, "txn-1");
+
+		assertThat(reservedRows()).containsExactly(List.of(2, 10L, 2), List.of(4, 20L, 4));
+		assertThat(order.getTotalPrice()).isEqualByComparingTo("42.00");
+		verify(cartService).clearCart(USER_ID);
+	}
+
+	@Test
+	void failsTheWholeOrderWhenAnyLineLacksStock() {
+		Product leash = product(10L, "Leash", "12.00");
+		Product bowl = product(20L, "Bowl", "4.50");
+		when(cartRepository.findByUserId(USER_ID)).thenReturn(List.of(line(leash, 1), line(bowl, 5)));
+		when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenReturn(new int[] { 1, 0 });
+
+		assertThatThrownBy(() -> orderService.checkout(USER_ID, null))
+				.hasMessage("Insufficient stock for Bowl");
+
+		verify(orderRepository, never()).save(any(Order.class));
+		verify(cartService, never()).clearCart(USER_ID);
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<Object>> reservedRows() {
+		ArgumentCaptor<List<Object[]>> args = ArgumentCaptor.forClass(List.class);
+		verify(jdbcTemplate).batchUpdate(anyString(), args.capture());
+		return args.getValue().stream().map(List::of).toList();
+	}
+
+	private static Product product(long id, String name, String price) {
+		Product product = new Product();
+		product.setId(id);
+		product.setName(name);
+		product.setPrice(new BigDecimal(price));
+		return product;
+	}
+
+	private static CartItem line(Product product, int quantity) {
+		CartItem item = new CartItem();
+		item.setProduct(product);
+		item.setQuantity(quantity);
+		return item;
+	}
+}
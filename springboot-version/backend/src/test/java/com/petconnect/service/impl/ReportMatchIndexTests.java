@@ -0,0 +1,80 @@
+package com.petconnect.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.petconnect.entity.MissingPetReport;
+import com.petconnect.entity.MissingPetReport.ReportStatus;
+import com.petconnect.entity.User;
+import com.petconnect.repository.MissingPetReportRepository;
+
+class ReportMatchIndexTests {
+
+	private static final LocalDateTime NOW = LocalDateTime.now();
+
+	private ReportMatchIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new ReportMatchIndex(mock(MissingPetReportRepository.class));
+		ReflectionTestUtils.setField(index, "cellDegrees", 0.1);
+		ReflectionTestUtils.setField(index, "radiusKm", 10.0);
+	}
+
+	@Test
+	void matchesOppositeStatusOfTheSameSpeciesBestFirst() {
+		index.add(report(1, 100, ReportStatus.FOUND, "Dog", "Labrador", 18.52, 73.85));
+		index.add(report(2, 101, ReportStatus.FOUND, "Dog", "Poodle", 18.53, 73.86));
+		index.add(report(3, 102, ReportStatus.FOUND, "Cat", "Labrador", 18.52, 73.85));
+		index.add(report(4, 103, ReportStatus.MISSING, "Dog", "Labrador", 18.52, 73.85));
+
+		List<ReportMatchIndex.Match> matches = index.findMatches(10, ReportStatus.MISSING, "dog", "labrador",
+				18.52, 73.85, NOW, 5, 0);
+
+		assertThat(matches).extracting(m -> m.report().id()).containsExactly(1L, 2L);
+	}
+
+	@Test
+	void matchesAcrossTheAntimeridian() {
+		index.add(report(1, 100, ReportStatus.FOUND, "Dog", "Labrador", -16.5, 179.99));
+
+		List<ReportMatchIndex.Match> matches = index.findMatches(10, ReportStatus.MISSING, "Dog", "Labrador",
+				-16.5, -179.99, NOW, 5, 0);
+
+		assertThat(matches).extracting(m -> m.report().id()).containsExactly(1L);
+	}
+
+	@Test
+	void removeByReporterDropsTheirReports() {
+		index.add(report(1, 100, ReportStatus.FOUND, "Dog", "Labrador", 18.52, 73.85));
+		index.add(report(2, 101, ReportStatus.FOUND, "Dog", "Labrador", 18.52, 73.85));
+
+		index.removeByReporter(100);
+
+		assertThat(index.findMatches(10, ReportStatus.MISSING, "Dog", "Labrador", 18.52, 73.85, NOW, 5, 0))
+				.extracting(m -> m.report().id()).containsExactly(2L);
+	}
+
+	private static MissingPetReport report(long id, long reporterId, ReportStatus status, String species,
+			String breed, double lat, double lon) {
+		User reporter = new User();
+		reporter.setId(reporterId);
+		MissingPetReport report = new MissingPetReport();
+		report.setId(id);
+		report.setReporter(reporter);
+		report.setStatus(status);
+		report.setSpecies(species);
+		report.setBreed(breed);
+		report.setLatitude(lat);
+		report.setLongitude(lon);
+		report.setCreatedAt(NOW);
+		return report;
+	}
+}
@@ -0,0 +1,58 @@
+package com.petconnect.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.petconnect.repository.UserRepository;
+
+class UserLocationIndexTests {
+
+	private UserLocationIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new UserLocationIndex(mock(UserRepository.class));
+		ReflectionTestUtils.setField(index, "cellDegrees", 0.1);
+		// Enough distant users that small queries walk grid cells instead of every point
+		for (int i = 0; i < 100; i++) {
+			index.put(1000 + i, 60 + i * 0.01, 10);
+		}
+	}
+
+	@Test
+	void findsNearbyUsersNearestFirst() {
+		index.put(1, 18.5204, 73.8567);
+		index.put(2, 18.5300, 73.8600);
+		index.put(3, 19.0760, 72.8777);
+
+		assertThat(index.within(18.5210, 73.8570, 5))
+				.extracting(UserLocationIndex.Neighbor::userId)
+				.containsExactly(1L, 2L);
+	}
+
+	@Test
+	void findsUsersAcrossTheAntimeridian() {
+		// About 2 km apart, on either side of 180 degrees
+		index.put(1, -16.5, 179.99);
+		index.put(2, -16.5, -179.99);
+
+		assertThat(index.within(-16.5, -179.99, 5))
+				.extracting(UserLocationIndex.Neighbor::userId)
+				.containsExactly(2L, 1L);
+		assertThat(index.within(-16.5, 179.99, 5))
+				.extracting(UserLocationIndex.Neighbor::userId)
+				.containsExactly(1L, 2L);
+	}
+
+	@Test
+	void removedUsersAreNotReturned() {
+		index.put(1, 18.5204, 73.8567);
+		index.remove(1);
+
+		assertThat(index.within(18.5204, 73.8567, 5)).isEmpty();
+	}
+}
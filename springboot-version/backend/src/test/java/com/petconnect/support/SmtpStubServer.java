@@ -0,0 +1,164 @@
+package com.petconnect.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Minimal in-process SMTP server for integration tests. It accepts every
+ * message and keeps it in memory; no auth, no TLS. Point the app at it with
+ * {@code spring.mail.host=localhost}, {@code spring.mail.port=<getPort()>},
+ * {@code spring.mail.properties.mail.smtp.auth=false} and
+ * {@code spring.mail.properties.mail.smtp.starttls.enable=false}.
+ */
+public class SmtpStubServer implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(SmtpStubServer.class);
+
+    private final ServerSocket serverSocket;
+    private final List<ReceivedMail> messages = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final AtomicInteger rejected = new AtomicInteger();
+    private volatile boolean running = true;
+
+    public record ReceivedMail(String from, List<String> recipients, String data) {
+    }
+
+    public SmtpStubServer() {
+        try {
+            serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Thread.ofVirtual().name("smtp-stub-accept").start(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public List<ReceivedMail> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    /** Answers the next {@code count} MAIL commands with a transient 451 failure. */
+    public void failNext(int count) {
+        failuresLeft.set(count);
+    }
+
+    /** Number of messages refused through {@link #failNext(int)} so far. */
+    public int getRejectedCount() {
+        return rejected.get();
+    }
+
+    /** Waits until at least {@code count} messages arrived or the timeout passes. */
+    public List<ReceivedMail> awaitMessages(int count, long timeoutMs) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        while (messages.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return getMessages();
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().start(() -> handle(socket));
+            } catch (IOException e) {
+                if (running) {
+                    logger.warn("SMTP stub failed to accept a connection", e);
+                }
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+                BufferedReader in = new BufferedReader(
+                        new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                PrintWriter out = new PrintWriter(socket.getOutputStream(), true, StandardCharsets.UTF_8)) {
+            reply(out, "220 localhost SMTP stub ready");
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO", "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> {
+                        if (failuresLeft.getAndUpdate(n -> Math.max(n - 1, 0)) > 0) {
+                            rejected.incrementAndGet();
+                            reply(out, "451 4.3.0 Try again later");
+                            continue;
+                        }
+                        from = argument(line);
+                        recipients = new ArrayList<>();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(argument(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        StringBuilder data = new StringBuilder();
+                        String dataLine;
+                        while ((dataLine = in.readLine()) != null && !dataLine.equals(".")) {
+                            // Undo dot-stuffing
+                            data.append(dataLine.startsWith("..") ? dataLine.substring(1) : dataLine).append("\r\n");
+                        }
+                        messages.add(new ReceivedMail(from, List.copyOf(recipients), data.toString()));
+                        reply(out, "250 OK queued");
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        recipients = new ArrayList<>();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up
+        }
+    }
+
+    private static String argument(String line) {
+        int colon = line.indexOf(':');
+        String value = colon >= 0 ? line.substring(colon + 1).trim() : "";
+        if (value.startsWith("<")) {
+            int end = value.indexOf('>');
+            value = value.substring(1, end > 0 ? end : value.length());
+        }
+        return value;
+    }
+
+    private static void reply(PrintWriter out, String line) {
+        out.print(line + "\r\n");
+        out.flush();
+    }
+}
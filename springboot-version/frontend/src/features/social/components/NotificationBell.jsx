@@ -9,36 +9,33 @@ import { useAuth } from '../../auth/AuthContext';
 const NotificationBell = () => {
     const { user } = useAuth();
     const [notifications, setNotifications] = useState([]);
-    const [unreadCount, setUnreadCount] = useState(0);
 
     useEffect(() => {
         if (user?.id) {
             fetchNotifications();
-            // Poll for notifications every 5 seconds for real-time updates
-            const interval = setInterval(fetchNotifications, 5000);
-            return () => clearInterval(interval);
+            // Live updates arrive over the notification stream instead of polling
+            return notificationService.openStream(handleIncoming);
         }
     }, [user?.id]);
 
+    // Handle both 'isRead' and 'read' property names for resilience
+    const isNotificationRead = (n) => (n.read !== undefined ? n.read : n.isRead);
+    const unreadCount = notifications.filter(n => !isNotificationRead(n)).length;
+
     const fetchNotifications = async () => {
         try {
-            console.log("Fetching notifications for user:", user.id);
             const data = await notificationService.getNotifications(user.id);
-            console.log("Received notifications:", data);
-            const notificationsArray = Array.isArray(data) ? data : [];
-            setNotifications(notificationsArray);
-            
-            // Handle both 'isRead' and 'read' property names for resilience
-            const unread = notificationsArray.filter(n => {
-                const isReadValue = n.read !== undefined ? n.read : n.isRead;
-                return !isReadValue;
-            });
-            setUnreadCount(unread.length);
+            setNotifications(Array.isArray(data) ? data : []);
         } catch (error) {
             console.error("Error fetching notifications", error);
         }
     };
 
+    // A grouped notification comes back with the same id, so replace it and move it to the top
+    const handleIncoming = (notification) => {
+        setNotifications(prev => [notification, ...prev.filter(n => n.id !== notification.id)]);
+    };
+
     const handleMarkAllRead = async () => {
         try {
             await notificationService.markAllAsRead(user.id);
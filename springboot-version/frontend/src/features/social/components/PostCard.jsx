@@ -11,7 +11,10 @@ const PostCard = ({ post: initialPost, onDelete, onEdit }) => {
   const [post, setPost] = useState(initialPost);
   const [isLiked, setIsLiked] = useState(false);
   const [showComments, setShowComments] = useState(false);
+  // Oldest first for display; pages arrive newest first and older ones are prepended
   const [comments, setComments] = useState([]);
+  const [commentsCursor, setCommentsCursor] = useState(null);
+  const [commentsLoaded, setCommentsLoaded] = useState(false);
   const [newComment, setNewComment] = useState('');
   const [isLiking, setIsLiking] = useState(false);
   const [isCommenting, setIsCommenting] = useState(false);
@@ -50,15 +53,20 @@ const PostCard = ({ post: initialPost, onDelete, onEdit }) => {
 
   const handleToggleComments = async () => {
     setShowComments(!showComments);
-    if (!showComments && comments.length === 0) {
+    if (!showComments && !commentsLoaded) {
       fetchComments();
     }
   };
 
-  const fetchComments = async () => {
+  const fetchComments = async (cursor = null) => {
     try {
-      const data = await postService.getComments(post.postId);
-      setComments(data);
+      const page = await postService.getComments(post.postId, cursor || {});
+      const older = [...(page.items || [])].reverse();
+      setComments(prev => (cursor ? [...older, ...prev] : older));
+      setCommentsCursor(page.hasMore
+        ? { cursorCreatedAt: page.nextCursorCreatedAt, cursorId: page.nextCursorId }
+        : null);
+      setCommentsLoaded(true);
     } catch (error) {
       console.error("Error fetching comments", error);
     }
@@ -71,6 +79,7 @@ const PostCard = ({ post: initialPost, onDelete, onEdit }) => {
       setIsCommenting(true);
       await postService.addComment(post.postId, { userId: user.id, content: newComment });
       setNewComment('');
+      setPost(prev => ({ ...prev, commentsCount: (prev.commentsCount || 0) + 1 }));
       fetchComments();
     } catch (error) {
       toast.error("Failed to add comment");
@@ -204,7 +213,7 @@ const PostCard = ({ post: initialPost, onDelete, onEdit }) => {
               style={{ cursor: 'pointer' }}
             >
               <FaComment size={18} />
-              <span>{comments.length || ''}</span>
+              <span>{post.commentsCount || ''}</span>
             </button>
           </div>
           <Badge bg="slate-100" className="text-slate-400 fw-800 px-3 py-2 rounded-pill" style={{ backgroundColor: '#f8fafc', fontSize: '0.7rem' }}>
@@ -216,11 +225,22 @@ const PostCard = ({ post: initialPost, onDelete, onEdit }) => {
         {showComments && (
           <div className="mt-4 pt-4 border-top border-slate-50 animate-fadeIn">
             <div className="comment-list mb-4">
+              {commentsCursor && (
+                <div className="text-center mb-3">
+                  <Button
+                    variant="link"
+                    className="text-primary small fw-700 p-0 shadow-none"
+                    onClick={() => fetchComments(commentsCursor)}
+                  >
+                    View earlier comments
+                  </Button>
+                </div>
+              )}
               {comments.length === 0 ? (
                 <div className="text-center text-slate-400 small py-2">No comments yet. Be the first!</div>
               ) : (
                 comments.map((comment, idx) => (
-                  <div key={idx} className="d-flex mb-3 align-items-start text-start">
+                  <div key={comment.commentId ?? idx} className="d-flex mb-3 align-items-start text-start">
                     <div className="rounded-circle d-flex align-items-center justify-content-center text-white fw-800 me-2 shadow-sm border border-slate-100" style={{ 
                       width: '36px', 
                       height: '36px', 
@@ -5,21 +5,27 @@ import { useNavigate } from 'react-router-dom';
 import followService from '../../../services/followService';
 import FollowButton from '../components/FollowButton';
 
+// Suggestions are ranked server-side; without a limit the API returns only the
+// top 20, so ask for pages of this size and grow the limit on "Show more".
+const PAGE_SIZE = 48;
+
 const FindFriendsPage = () => {
   const [people, setPeople] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [limit, setLimit] = useState(PAGE_SIZE);
+  const [hasMore, setHasMore] = useState(false);
   const navigate = useNavigate();
 
   useEffect(() => {
-    fetchPeople();
-  }, []);
+    fetchPeople(limit);
+  }, [limit]);
 
-  const fetchPeople = async () => {
+  const fetchPeople = async (size) => {
     try {
-      setLoading(true);
-      // Fetch suggestions without a limit to show all potential connections
-      const data = await followService.getSuggestions();
+      setLoading(people.length === 0);
+      const data = await followService.getSuggestions(size);
       setPeople(data || []);
+      setHasMore((data || []).length >= size);
     } catch (err) {
       console.error("Error fetching people", err);
     } finally {
@@ -95,7 +101,7 @@ const FindFriendsPage = () => {
                      <FollowButton 
                         userId={person.id} 
                         className="w-100 py-2 fw-800 rounded-pill btn-primary-pet text-center d-block"
-                        onToggle={fetchPeople} // Refresh list on action if needed
+                        onToggle={() => fetchPeople(limit)} // Refresh list on action if needed
                      />
                   </div>
                 </Card.Body>
@@ -105,6 +111,18 @@ const FindFriendsPage = () => {
         </Row>
       )}
 
+      {!loading && hasMore && (
+        <div className="text-center mt-5">
+          <Button
+            variant="outline-primary"
+            className="rounded-pill fw-800 px-4"
+            onClick={() => setLimit(limit + PAGE_SIZE)}
+          >
+            Show more
+          </Button>
+        </div>
+      )}
+
       <style>{`
         .hover-lift {
           transition: transform 0.3s ease, box-shadow 0.3s ease;
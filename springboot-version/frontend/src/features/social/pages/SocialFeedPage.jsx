@@ -17,6 +17,8 @@ const SocialFeedPage = () => {
   const navigate = useNavigate();
   const [posts, setPosts] = useState([]);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
+  const [nextCursor, setNextCursor] = useState(null);
   const [error, setError] = useState(null);
   const [showModal, setShowModal] = useState(false);
   const [editingPost, setEditingPost] = useState(null);
@@ -64,9 +66,9 @@ const SocialFeedPage = () => {
   const fetchFeed = async () => {
     try {
       setLoading(true);
-      const data = await postService.getFeed(user.id);
+      const page = await postService.getFeed();
 
-      let filteredPosts = data || [];
+      let filteredPosts = page?.items || [];
       // if (searchQuery) {
       //   const query = searchQuery.toLowerCase();
       //   filteredPosts = filteredPosts.filter(p =>
@@ -78,6 +80,9 @@ const SocialFeedPage = () => {
       // }
 
       setPosts(filteredPosts);
+      setNextCursor(page?.hasMore
+        ? { cursorCreatedAt: page.nextCursorCreatedAt, cursorId: page.nextCursorId }
+        : null);
       setError(null);
     } catch (err) {
       console.error("Error fetching feed", err);
@@ -87,6 +92,27 @@ const SocialFeedPage = () => {
     }
   };
 
+  const fetchMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    try {
+      setLoadingMore(true);
+      const page = await postService.getFeed(nextCursor);
+      const incoming = page?.items || [];
+      setPosts(prev => {
+        const seen = new Set(prev.map(p => p.postId));
+        return [...prev, ...incoming.filter(p => !seen.has(p.postId))];
+      });
+      setNextCursor(page?.hasMore
+        ? { cursorCreatedAt: page.nextCursorCreatedAt, cursorId: page.nextCursorId }
+        : null);
+    } catch (err) {
+      console.error("Error fetching more posts", err);
+      toast.error("Couldn't load more posts");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleDeletePost = (postId) => {
     toast((t) => (
       <div className="d-flex flex-column gap-2" style={{ minWidth: '250px' }}>
@@ -245,9 +271,23 @@ const SocialFeedPage = () => {
               <Button variant="outline-primary" className="rounded-pill fw-800 px-4" onClick={() => hasPets ? setShowModal(true) : setShowPetRestriction(true)}>Share Your First Story</Button>
             </div>
           ) : (
-            posts.map(post => (
-              <PostCard key={post.postId} post={post} onDelete={handleDeletePost} onEdit={handleEditPost} />
-            ))
+            <>
+              {posts.map(post => (
+                <PostCard key={post.postId} post={post} onDelete={handleDeletePost} onEdit={handleEditPost} />
+              ))}
+              {nextCursor && (
+                <div className="text-center py-3">
+                  <Button
+                    variant="outline-primary"
+                    className="rounded-pill fw-800 px-4"
+                    onClick={fetchMore}
+                    disabled={loadingMore}
+                  >
+                    {loadingMore ? <Spinner animation="border" size="sm" /> : 'Load more'}
+                  </Button>
+                </div>
+              )}
+            </>
           )}
         </Col>
 
@@ -28,6 +28,63 @@ const notificationService = {
       },
     });
     return response.data;
+  },
+
+  // Opens the live notification stream and calls onNotification for every new
+  // or updated notification. EventSource cannot send the Authorization header,
+  // so each connection first fetches a short-lived stream token. Because that
+  // token expires, dropped connections are reopened here with a fresh one
+  // rather than by EventSource itself. Returns a function that closes the stream.
+  openStream: (onNotification) => {
+    let source = null;
+    let closed = false;
+    let retryTimer = null;
+    let retryDelay = 1000;
+    let lastEventId = null;
+
+    const scheduleReconnect = () => {
+      if (closed) return;
+      retryTimer = setTimeout(connect, retryDelay);
+      retryDelay = Math.min(retryDelay * 2, 30000);
+    };
+
+    const connect = async () => {
+      try {
+        const response = await axios.post(`${BASE_URL}/api/Notifications/stream-token`, {}, {
+          headers: {
+            Authorization: `Bearer ${localStorage.getItem('token')}`,
+          },
+        });
+        if (closed) return;
+
+        const params = new URLSearchParams({ token: response.data.token });
+        if (lastEventId) {
+          params.set('lastEventId', lastEventId);
+        }
+        source = new EventSource(`${BASE_URL}/api/Notifications/stream?${params}`);
+        source.onopen = () => {
+          retryDelay = 1000;
+        };
+        source.addEventListener('notification', (event) => {
+          lastEventId = event.lastEventId;
+          onNotification(JSON.parse(event.data));
+        });
+        source.onerror = () => {
+          source.close();
+          scheduleReconnect();
+        };
+      } catch (error) {
+        console.error("Error opening notification stream", error);
+        scheduleReconnect();
+      }
+    };
+
+    connect();
+    return () => {
+      closed = true;
+      clearTimeout(retryTimer);
+      if (source) source.close();
+    };
   }
 };
 
@@ -3,8 +3,19 @@ import axios from 'axios';
 const BASE_URL = 'http://localhost:8080';
 
 const postService = {
-  getFeed: async (userId) => {
-    const response = await axios.get(`${BASE_URL}/api/Posts/feed?userId=${userId}`, {
+  // Returns one page: { items, nextCursorCreatedAt, nextCursorId, hasMore }.
+  // Pass the previous page's cursor values to fetch the next one.
+  getFeed: async (cursor = {}) => {
+    const params = {};
+    if (cursor.cursorCreatedAt && cursor.cursorId) {
+      params.cursorCreatedAt = cursor.cursorCreatedAt;
+      params.cursorId = cursor.cursorId;
+    }
+    if (cursor.size) {
+      params.size = cursor.size;
+    }
+    const response = await axios.get(`${BASE_URL}/api/Posts/feed`, {
+      params,
       headers: {
         Authorization: `Bearer ${localStorage.getItem('token')}`,
       },
@@ -39,8 +50,15 @@ const postService = {
     return response.data;
   },
 
-  getComments: async (postId) => {
-    const response = await axios.get(`${BASE_URL}/api/Posts/${postId}/getcomments`, {
+  // Newest first, one page at a time: { items, nextCursorCreatedAt, nextCursorId, hasMore }
+  getComments: async (postId, cursor = {}) => {
+    const params = {};
+    if (cursor.cursorCreatedAt && cursor.cursorId) {
+      params.cursorCreatedAt = cursor.cursorCreatedAt;
+      params.cursorId = cursor.cursorId;
+    }
+    const response = await axios.get(`${BASE_URL}/api/Posts/${postId}/comments`, {
+      params,
       headers: {
         Authorization: `Bearer ${localStorage.getItem('token')}`,
       },